@@ -0,0 +1,163 @@
+import java.util.*;
+import java.util.function.*;
+
+/**
+ * BitmapIndex - Ids of the plants in a PlantStore that match a PlantCondition
+ * The members are kept in a CompressedBitmap, so counting them is O(1),
+ * listing them is O(members), and two indexes over the same store combine
+ * with and()/or() container by container.
+ *
+ * Like SecondaryIndex, the index listens to its store and stays current:
+ * a single-row change re-tests that row, and a bulk change such as a tick
+ * re-evaluates only the rows it changed in the attributes the condition
+ * reads (see ConditionMatches). The bitmap is touched only for the ids
+ * whose membership flipped. close() detaches the index from the store.
+ *
+ * Usage:
+ * BitmapIndex needsCare = new BitmapIndex(store, Plant.NEEDS_IMMEDIATE_CARE);
+ * BitmapIndex ready = new BitmapIndex(store, Plant.IS_READY_TO_HARVEST);
+ * CompressedBitmap rescue = needsCare.and(ready);
+ */
+public class BitmapIndex implements PlantStoreListener {
+
+    private final PlantStore store;
+    private final PlantCondition condition;
+    private final CompressedBitmap members = new CompressedBitmap();
+    private final ConditionMatches matches;
+    private final ConditionMatches.Flips flips = this::flipped;
+
+    private long flipCount;
+    private boolean closed;
+
+    /**
+     * Selects the current matches and starts following the store
+     */
+    public BitmapIndex(PlantStore store, PlantCondition condition) {
+        this.store = Objects.requireNonNull(store, "store");
+        this.condition = Objects.requireNonNull(condition, "condition");
+        this.matches = new ConditionMatches(store, condition);
+        for (int id : matches.ids()) {
+            members.add(id);
+        }
+        store.addListener(this);
+    }
+
+    /**
+     * Stops following the store; the index keeps its last contents
+     */
+    public void close() {
+        if (!closed) {
+            store.removeListener(this);
+            closed = true;
+        }
+    }
+
+    // ========== PlantStoreListener ==========
+
+    @Override
+    public void rowAdded(int id) {
+        matches.rowAdded(id, flips);
+    }
+
+    @Override
+    public void rowChanged(int id) {
+        matches.rowChanged(id, flips);
+    }
+
+    @Override
+    public void rowsChanged(int fromSlot, int toSlot) {
+        matches.rowsChanged(fromSlot, toSlot, flips);
+    }
+
+    private void flipped(int id, boolean matches) {
+        if (matches) {
+            members.add(id);
+        } else {
+            members.remove(id);
+        }
+        flipCount++;
+    }
+
+    // ========== Queries ==========
+
+    /**
+     * @return Number of matching plants
+     */
+    public int count() {
+        return members.cardinality();
+    }
+
+    public boolean contains(int id) {
+        return members.contains(id);
+    }
+
+    /**
+     * Calls the action for every matching id in ascending order
+     */
+    public void forEach(IntConsumer action) {
+        members.forEach(action);
+    }
+
+    /**
+     * @return The matching ids, ascending
+     */
+    public int[] getIds() {
+        return members.toArray();
+    }
+
+    /**
+     * @return A copy of the matches that no longer follows the store
+     */
+    public CompressedBitmap snapshot() {
+        return members.copy();
+    }
+
+    /**
+     * @return Plants matching both conditions
+     */
+    public CompressedBitmap and(BitmapIndex other) {
+        checkSameStore(other);
+        return CompressedBitmap.and(members, other.members);
+    }
+
+    /**
+     * @return Plants matching either condition
+     */
+    public CompressedBitmap or(BitmapIndex other) {
+        checkSameStore(other);
+        return CompressedBitmap.or(members, other.members);
+    }
+
+    private void checkSameStore(BitmapIndex other) {
+        if (other.store != store) {
+            throw new IllegalArgumentException("Indexes belong to different stores");
+        }
+    }
+
+    public PlantCondition getCondition() {
+        return condition;
+    }
+
+    public PlantStore getStore() {
+        return store;
+    }
+
+    /**
+     * @return Ids that entered or left the set so far
+     */
+    public long getFlipCount() {
+        return flipCount;
+    }
+
+    /**
+     * @return Approximate heap bytes of the compressed members
+     */
+    public long getMemoryBytes() {
+        return members.getMemoryBytes();
+    }
+
+    @Override
+    public String toString() {
+        return "BitmapIndex{" + condition + ", " + count() + " plants}";
+    }
+}
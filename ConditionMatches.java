@@ -0,0 +1,146 @@
+import java.util.*;
+
+/**
+ * ConditionMatches - Which plants of a PlantStore match a PlantCondition
+ * Keeps the matches as bits by id and follows the store's changes for its
+ * owner (BitmapIndex, PlantSubscriptions), which forwards its listener
+ * calls here and is told each id whose membership flipped.
+ *
+ * A bulk change re-evaluates only the words of rows that it reported
+ * changed in an attribute the condition reads (PlantCondition.changedBits),
+ * so a tick that leaves those columns alone costs one pass over the change
+ * bits, and no selection is allocated.
+ */
+final class ConditionMatches {
+
+    /**
+     * Told about each id that started or stopped matching
+     */
+    interface Flips {
+        void flipped(int id, boolean matches);
+    }
+
+    private final PlantStore store;
+    private final PlantCondition condition;
+
+    // Bit (id & 63) of word (id >>> 6) is set while the plant matches
+    private long[] words;
+
+    /**
+     * Selects the current matches; they are not reported as flips
+     */
+    ConditionMatches(PlantStore store, PlantCondition condition) {
+        this.store = store;
+        this.condition = condition;
+        this.words = condition.select(store);
+    }
+
+    boolean contains(int id) {
+        return id >>> 6 < words.length && (words[id >>> 6] & 1L << id) != 0;
+    }
+
+    /**
+     * @return Matching ids, ascending
+     */
+    int[] ids() {
+        int[] ids = new int[count()];
+        int n = 0;
+        for (int w = 0; w < words.length; w++) {
+            for (long bits = words[w]; bits != 0; bits &= bits - 1) {
+                ids[n++] = (w << 6) | Long.numberOfTrailingZeros(bits);
+            }
+        }
+        return ids;
+    }
+
+    int count() {
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    // ========== Following the store ==========
+
+    /**
+     * @return True if the new row matches
+     */
+    boolean rowAdded(int id, Flips flips) {
+        if (words.length <= id >>> 6) {
+            words = Arrays.copyOf(words, Math.max((id >>> 6) + 1, words.length + (words.length >> 1)));
+        }
+        return rowChanged(id, flips);
+    }
+
+    /**
+     * Re-tests one row
+     *
+     * @return True if its membership flipped
+     */
+    boolean rowChanged(int id, Flips flips) {
+        long bit = 1L << id;
+        boolean was = (words[id >>> 6] & bit) != 0;
+        if (condition.test(store, id) == was) {
+            return false;
+        }
+        words[id >>> 6] ^= bit;
+        flips.flipped(id, !was);
+        return true;
+    }
+
+    /**
+     * Re-evaluates the rows of [fromSlot, toSlot) that the store reports
+     * changed in an attribute the condition reads
+     *
+     * @return Number of ids whose membership flipped
+     */
+    int rowsChanged(int fromSlot, int toSlot, Flips flips) {
+        if (fromSlot >= toSlot) {
+            return 0;
+        }
+        int rows = store.size();
+        int count = 0;
+
+        int[] slotToId = store.slotToIdMap();
+        long[] words = this.words;
+        int firstWord = fromSlot >>> 6;
+        int lastWord = (toSlot - 1) >>> 6;
+        for (int w = firstWord; w <= lastWord; w++) {
+            long changed = condition.changedBits(store, w);
+            if (w == firstWord) {
+                changed &= -1L << fromSlot;
+            }
+            if (w == lastWord) {
+                changed &= -1L >>> -toSlot;
+            }
+            if (changed == 0) {
+                continue;
+            }
+            long now = condition.scanWord(store, w, rows);
+            if (slotToId == null) {
+                // Rows are ids, so the word compares as a whole
+                long flipped = (now ^ words[w]) & changed;
+                words[w] ^= flipped;
+                count += Long.bitCount(flipped);
+                for (long bits = flipped; bits != 0; bits &= bits - 1) {
+                    int bit = Long.numberOfTrailingZeros(bits);
+                    flips.flipped((w << 6) | bit, (now >>> bit & 1) != 0);
+                }
+            } else {
+                for (long bits = changed; bits != 0; bits &= bits - 1) {
+                    int bit = Long.numberOfTrailingZeros(bits);
+                    int id = slotToId[(w << 6) | bit];
+                    long idBit = 1L << id;
+                    boolean matches = (now >>> bit & 1) != 0;
+                    if (matches != ((words[id >>> 6] & idBit) != 0)) {
+                        words[id >>> 6] ^= idBit;
+                        flips.flipped(id, matches);
+                        count++;
+                    }
+                }
+            }
+        }
+        return count;
+    }
+}
@@ -5,7 +5,7 @@
 public class Cucumber extends Plant {
 
     public Cucumber() {
-        super("Cucumis (Cucumber)");
+        super(SpeciesProfile.CUCUMBER);
     }
 
     /**
@@ -15,8 +15,8 @@ public class Cucumber extends Plant {
     @Override
     public void water() {
         int currentWater = this.getWaterLevel();
-        this.setWaterLevel(currentWater + 28);
-        System.out.println("You water the " + this.getName() + ". Water level: " + this.getWaterLevel());
+        this.setWaterLevel(currentWater + getProfile().getWaterAmount());
+        emit(PlantEventType.WATERED, this.getWaterLevel());
     }
 
     /**
@@ -26,8 +26,8 @@ public class Cucumber extends Plant {
     @Override
     public void bask() {
         int currentSunlight = this.getSunlightLevel();
-        this.setSunlightLevel(currentSunlight + 28);
-        System.out.println("Your " + this.getName() + " receives good sunlight. Sunlight level: " + this.getSunlightLevel());
+        this.setSunlightLevel(currentSunlight + getProfile().getSunlightAmount());
+        emit(PlantEventType.BASKED, this.getSunlightLevel());
     }
 
     /**
@@ -35,9 +35,6 @@ public class Cucumber extends Plant {
      */
     @Override
     public String harvestProduct() {
-        if (this.getGrowthStage() < 5) {
-            return "Not ready yet! Plant is only at stage " + this.getGrowthStage();
-        }
-        return "Fresh cucumbers harvested! You got 8 cucumbers.";
+        return getProfile().harvest(this.getGrowthStage());
     }
 }
@@ -0,0 +1,347 @@
+import java.util.*;
+
+/**
+ * EndangeredPlants - The K living plants of a PlantStore closest to death
+ * Plants are ranked by health, then water, lowest first, and by id when
+ * both are equal. Only a small region of the ranking is kept: every living
+ * plant that ranks at or below a bound, which is chosen so that the region
+ * holds about 2K plants. The region is a sorted array of (health, water,
+ * id) keys, so a page of the ranking is a copy.
+ *
+ * The view listens to its store:
+ * - A single-row change (a care action, a setter) moves that plant into,
+ *   within or out of the region, O(region).
+ * - A bulk change such as a tick only marks the view stale. The next read
+ *   collects the plants under the bound with one pass over the living rows
+ *   and sorts just those. Only when the region has grown past 4K or shrunk
+ *   below K is the bound chosen again, with one more pass that counts the
+ *   living plants per (health, water) pair.
+ * Neither path sorts the whole population.
+ *
+ * Usage:
+ * EndangeredPlants endangered = new EndangeredPlants(store, 1000);
+ * store.tick();
+ * int[] firstPage = endangered.ids(0, 50);
+ */
+public class EndangeredPlants implements PlantStoreListener {
+
+    // Keys are health * WATER_VALUES + water
+    private static final int WATER_VALUES = 101;
+    private static final int KEYS = 101 * WATER_VALUES;
+
+    private final PlantStore store;
+    private final int k;
+    private final int target;
+    private final int capacity;
+
+    // Living plants with rank key <= bound, ascending: key << 32 | id
+    private long[] region;
+    private int regionSize;
+    private long bound;
+
+    // Ids in the region
+    private long[] member = new long[0];
+
+    // Set by bulk changes and by a region that fell out of range
+    private boolean stale;
+
+    private long recalibrationCount;
+    private long refreshCount;
+    private boolean closed;
+
+    /**
+     * @param k Number of plants the ranking holds
+     */
+    public EndangeredPlants(PlantStore store, int k) {
+        if (k < 1) {
+            throw new IllegalArgumentException("k must be at least 1: " + k);
+        }
+        this.store = Objects.requireNonNull(store, "store");
+        this.k = k;
+        this.target = (int) Math.min(Integer.MAX_VALUE / 4, 2L * k);
+        this.capacity = 4 * target;
+        this.region = new long[capacity];
+        recalibrate();
+        store.addListener(this);
+    }
+
+    /**
+     * Stops following the store; the view keeps its last ranking
+     */
+    public void close() {
+        if (!closed) {
+            store.removeListener(this);
+            closed = true;
+        }
+    }
+
+    // ========== PlantStoreListener ==========
+
+    @Override
+    public void rowAdded(int id) {
+        if (member.length <= id >>> 6) {
+            member = Arrays.copyOf(member, Math.max((id >>> 6) + 1, member.length + (member.length >> 1)));
+        }
+        rowChanged(id);
+    }
+
+    @Override
+    public void rowChanged(int id) {
+        if (stale) {
+            return; // The next read collects the region again
+        }
+        long bit = 1L << id;
+        boolean was = (member[id >>> 6] & bit) != 0;
+        long key = store.isAlive(id) ? rankKey(store.getHealth(id), store.getWaterLevel(id), id) : Long.MAX_VALUE;
+        boolean is = key <= bound;
+        if (was) {
+            removeFromRegion(id);
+            member[id >>> 6] &= ~bit;
+        }
+        if (is) {
+            if (regionSize == capacity) {
+                stale = true;
+                return;
+            }
+            insertIntoRegion(key);
+            member[id >>> 6] |= bit;
+        } else if (was && regionSize < k) {
+            stale = true; // Plants beyond the bound may rank in the top K now
+        }
+    }
+
+    @Override
+    public void rowsChanged(int fromSlot, int toSlot) {
+        if (fromSlot < toSlot) {
+            stale = true;
+        }
+    }
+
+    // ========== Region ==========
+
+    private static long rankKey(int health, int water, int id) {
+        return (long) (health * WATER_VALUES + water) << 32 | id;
+    }
+
+    private void removeFromRegion(int id) {
+        for (int i = 0; i < regionSize; i++) {
+            if ((int) region[i] == id) {
+                System.arraycopy(region, i + 1, region, i, regionSize - i - 1);
+                regionSize--;
+                return;
+            }
+        }
+    }
+
+    private void insertIntoRegion(long key) {
+        int i = Arrays.binarySearch(region, 0, regionSize, key);
+        i = i < 0 ? -i - 1 : i;
+        System.arraycopy(region, i, region, i + 1, regionSize - i);
+        region[i] = key;
+        regionSize++;
+    }
+
+    /**
+     * Collects the region again under the current bound, choosing a new
+     * bound only when it holds too many or too few plants
+     */
+    private void catchUp() {
+        if (!stale) {
+            return;
+        }
+        refreshCount++;
+        if (!collect() || (regionSize < k && regionSize < store.getAliveCount())) {
+            recalibrate();
+        }
+        stale = false;
+    }
+
+    /**
+     * Fills the region with the living plants ranked at or below the bound
+     *
+     * @return False if more than capacity plants qualify
+     */
+    private boolean collect() {
+        clearMembers();
+        int[] slotToId = store.slotToIdMap();
+        long[] alive = store.aliveBits();
+        byte[] health = store.healthColumn();
+        byte[] water = store.waterColumn();
+        long[] region = this.region;
+        long bound = this.bound;
+        int boundKey = (int) (bound >>> 32);
+        int n = 0;
+        for (int w = 0, words = (store.getActiveEnd() + 63) >>> 6; w < words; w++) {
+            for (long bits = alive[w]; bits != 0; bits &= bits - 1) {
+                int slot = (w << 6) | Long.numberOfTrailingZeros(bits);
+                int key = health[slot] * WATER_VALUES + water[slot];
+                if (key > boundKey) {
+                    continue;
+                }
+                int id = slotToId == null ? slot : slotToId[slot];
+                long ranked = (long) key << 32 | id;
+                if (ranked <= bound) {
+                    if (n == capacity) {
+                        regionSize = 0;
+                        return false;
+                    }
+                    region[n++] = ranked;
+                }
+            }
+        }
+        Arrays.sort(region, 0, n);
+        regionSize = n;
+        setMembers();
+        return true;
+    }
+
+    /**
+     * Chooses the bound so the region holds target plants: counts the
+     * living plants per key, finds the key where the count reaches target,
+     * and breaks the tie at that key by id
+     */
+    private void recalibrate() {
+        recalibrationCount++;
+        clearMembers();
+        int rows = store.size();
+        if (member.length < (rows + 63) >>> 6) {
+            member = new long[(rows + 63) >>> 6];
+        }
+        int[] slotToId = store.slotToIdMap();
+        long[] alive = store.aliveBits();
+        byte[] health = store.healthColumn();
+        byte[] water = store.waterColumn();
+        int words = (store.getActiveEnd() + 63) >>> 6;
+
+        int[] counts = new int[KEYS];
+        for (int w = 0; w < words; w++) {
+            for (long bits = alive[w]; bits != 0; bits &= bits - 1) {
+                int slot = (w << 6) | Long.numberOfTrailingZeros(bits);
+                counts[health[slot] * WATER_VALUES + water[slot]]++;
+            }
+        }
+        int boundKey = 0;
+        int below = 0;
+        while (boundKey < KEYS - 1 && below + counts[boundKey] < target) {
+            below += counts[boundKey++];
+        }
+        int need = Math.min(target - below, counts[boundKey]);
+
+        // Plants under the bound key all belong; at the key, the lowest ids
+        int n = 0;
+        int[] ties = new int[counts[boundKey]];
+        int tieCount = 0;
+        for (int w = 0; w < words; w++) {
+            for (long bits = alive[w]; bits != 0; bits &= bits - 1) {
+                int slot = (w << 6) | Long.numberOfTrailingZeros(bits);
+                int key = health[slot] * WATER_VALUES + water[slot];
+                int id = slotToId == null ? slot : slotToId[slot];
+                if (key < boundKey) {
+                    region[n++] = (long) key << 32 | id;
+                } else if (key == boundKey) {
+                    ties[tieCount++] = id;
+                }
+            }
+        }
+        Arrays.sort(ties);
+        for (int i = 0; i < need; i++) {
+            region[n++] = (long) boundKey << 32 | ties[i];
+        }
+        // Fewer than target plants alive: all of them fit, and so do new ones
+        bound = n < target ? Long.MAX_VALUE - 1 : (long) boundKey << 32 | ties[need - 1];
+        Arrays.sort(region, 0, n);
+        regionSize = n;
+        setMembers();
+    }
+
+    private void clearMembers() {
+        for (int i = 0; i < regionSize; i++) {
+            int id = (int) region[i];
+            member[id >>> 6] &= ~(1L << id);
+        }
+    }
+
+    private void setMembers() {
+        if (member.length < (store.size() + 63) >>> 6) {
+            member = Arrays.copyOf(member, (store.size() + 63) >>> 6);
+        }
+        for (int i = 0; i < regionSize; i++) {
+            int id = (int) region[i];
+            member[id >>> 6] |= 1L << id;
+        }
+    }
+
+    // ========== Queries ==========
+
+    /**
+     * @return Number of plants in the ranking: K, or fewer if fewer are alive
+     */
+    public int count() {
+        catchUp();
+        return Math.min(k, regionSize);
+    }
+
+    /**
+     * @return Ids ranked offset .. offset + limit - 1 (0 is closest to death),
+     *         cut short at the end of the ranking
+     */
+    public int[] ids(int offset, int limit) {
+        if (offset < 0 || limit < 0) {
+            throw new IllegalArgumentException("offset and limit must not be negative: " + offset + ", " + limit);
+        }
+        catchUp();
+        int end = (int) Math.min(Math.min(k, regionSize), (long) offset + limit);
+        if (offset >= end) {
+            return new int[0];
+        }
+        int[] ids = new int[end - offset];
+        for (int i = offset; i < end; i++) {
+            ids[i - offset] = (int) region[i];
+        }
+        return ids;
+    }
+
+    /**
+     * @return Page number page (from 0) of pageSize ids
+     */
+    public int[] page(int page, int pageSize) {
+        if (page < 0 || pageSize < 1) {
+            throw new IllegalArgumentException("Invalid page " + page + " of size " + pageSize);
+        }
+        return ids((int) Math.min(Integer.MAX_VALUE, (long) page * pageSize), pageSize);
+    }
+
+    /**
+     * @return All ids of the ranking, closest to death first
+     */
+    public int[] ids() {
+        return ids(0, k);
+    }
+
+    public int getK() {
+        return k;
+    }
+
+    public PlantStore getStore() {
+        return store;
+    }
+
+    /**
+     * @return Times the region was collected again after a bulk change
+     */
+    public long getRefreshCount() {
+        return refreshCount;
+    }
+
+    /**
+     * @return Times the bound was chosen again, including the first time
+     */
+    public long getRecalibrationCount() {
+        return recalibrationCount;
+    }
+
+    @Override
+    public String toString() {
+        return "EndangeredPlants{k=" + k + ", " + count() + " ranked}";
+    }
+}
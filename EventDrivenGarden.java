@@ -0,0 +1,425 @@
+import java.util.*;
+
+/**
+ * EventDrivenGarden - Discrete-event simulation of PackedPlant states
+ * A tick's outcome (needs water, needs sunlight, grows, dies) only changes
+ * when water or sunlight crosses a threshold, the growth gate opens or
+ * closes, or the plant dies. Each living plant therefore sits in a priority
+ * queue keyed by the tick of its next such change, and advancing the clock
+ * only wakes the plants whose event is due. Plants in between are not
+ * touched; their state is brought up to date when someone reads it.
+ *
+ * The next event is computed, not simulated. Water and sunlight fall by 5
+ * and 3 a tick, so the ticks at which they drop below the need (20) and
+ * growth (31) thresholds follow from the levels directly. Health only rises
+ * until the first need, by boosts that depend on water and sunlight alone
+ * (summed once per pair in BOOST_SUMS), and falls by at least 5 a tick
+ * after it, so the tick it passes 50 and the tick the plant dies are found
+ * by binary search. The same arithmetic gives the state at any tick.
+ * Results are identical to calling PackedPlant.tick() on every plant each tick.
+ *
+ * Usage:
+ * EventDrivenGarden garden = new EventDrivenGarden(1000);
+ * int id = garden.add(PackedPlant.pack(plant));
+ * garden.advanceTo(500);
+ * int state = garden.getState(id);
+ */
+public class EventDrivenGarden {
+
+    // Every event is within this many ticks: a plant without care dies by then
+    private static final int MAX_LOOKAHEAD = Plant.MAX_UNATTENDED_TICKS;
+
+    // Wheel buckets, more than MAX_LOOKAHEAD so pending ticks never share one
+    private static final int WHEEL_SIZE = Integer.highestOneBit(MAX_LOOKAHEAD) << 1;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    private static final int NONE = -1;
+
+    // Health boosts are 0 from this tick on, when water and sunlight are gone
+    private static final int BOOST_TICKS = 35;
+
+    // Sum of the health boosts of the first k ticks from water w and sunlight s,
+    // at [(w * 101 + s) * BOOST_TICKS + k]
+    private static final short[] BOOST_SUMS = new short[101 * 101 * BOOST_TICKS];
+
+    static {
+        for (int w = 0; w <= 100; w++) {
+            for (int s = 0; s <= 100; s++) {
+                int base = (w * 101 + s) * BOOST_TICKS;
+                for (int k = 1; k < BOOST_TICKS; k++) {
+                    int water = Math.max(0, w - 5 * k);
+                    int sunlight = Math.max(0, s - 3 * k);
+                    BOOST_SUMS[base + k] = (short) (BOOST_SUMS[base + k - 1] + (water / 2 + sunlight / 3) / 10);
+                }
+            }
+        }
+    }
+
+    private int[] states;       // state after lastTick[id] ticks
+    private long[] lastTick;
+    private int[] eventStates;  // state after eventTick[id] ticks
+    private long[] eventTick;
+
+    // Timing wheel: doubly linked list of plant ids per bucket
+    private final int[] bucketHead = new int[WHEEL_SIZE];
+    private int[] nextInBucket;
+    private int[] prevInBucket;
+    private boolean[] queued;
+    private int pending;
+
+    // Reused for every prediction, so handling an event allocates nothing
+    private final Forecast forecast = new Forecast();
+
+    private int size;
+    private int aliveCount;
+    private long now;
+    private long eventCount;
+
+    /**
+     * @param capacity Number of plants to reserve room for
+     */
+    public EventDrivenGarden(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("capacity must not be negative: " + capacity);
+        }
+        states = new int[capacity];
+        lastTick = new long[capacity];
+        eventStates = new int[capacity];
+        eventTick = new long[capacity];
+        nextInBucket = new int[capacity];
+        prevInBucket = new int[capacity];
+        queued = new boolean[capacity];
+        Arrays.fill(bucketHead, NONE);
+    }
+
+    /**
+     * Adds a plant at the current tick
+     *
+     * @param state Packed plant state, see PackedPlant
+     * @return The id of the new plant
+     */
+    public int add(int state) {
+        if (size == states.length) {
+            grow();
+        }
+        int id = size++;
+        states[id] = state;
+        lastTick[id] = now;
+        if (PackedPlant.isAlive(state)) {
+            aliveCount++;
+            schedule(id);
+        }
+        return id;
+    }
+
+    /**
+     * Moves the clock forward, handling every event due on the way
+     *
+     * @param tick Number of ticks since the garden started, not before now
+     */
+    public void advanceTo(long tick) {
+        if (tick < now) {
+            throw new IllegalArgumentException("Cannot move back from tick " + now + " to " + tick);
+        }
+        // Every pending event is due within MAX_LOOKAHEAD ticks, so this
+        // stops walking buckets as soon as the queue runs empty
+        for (long t = now + 1; t <= tick && pending > 0; t++) {
+            int bucket = (int) t & WHEEL_MASK;
+            int id;
+            while ((id = bucketHead[bucket]) != NONE) {
+                unlink(id);
+                states[id] = eventStates[id];
+                lastTick[id] = t;
+                eventCount++;
+                if (PackedPlant.isAlive(states[id])) {
+                    predict(id);
+                    link(id);
+                } else {
+                    aliveCount--;
+                }
+            }
+        }
+        now = tick;
+    }
+
+    /**
+     * Moves the clock forward by a number of ticks
+     */
+    public void advance(long ticks) {
+        advanceTo(now + ticks);
+    }
+
+    /**
+     * @return Packed state of the plant at the current tick
+     */
+    public int getState(int id) {
+        Objects.checkIndex(id, size);
+        catchUp(id);
+        return states[id];
+    }
+
+    /**
+     * Replaces a plant's state at the current tick, for example after caring
+     * for it, and re-plans its next event
+     *
+     * @param state New packed state, see PackedPlant
+     */
+    public void setState(int id, int state) {
+        Objects.checkIndex(id, size);
+        catchUp(id);
+        boolean wasAlive = PackedPlant.isAlive(states[id]);
+        boolean isAlive = PackedPlant.isAlive(state);
+        states[id] = state;
+        if (wasAlive != isAlive) {
+            aliveCount += isAlive ? 1 : -1;
+        }
+        if (queued[id]) {
+            unlink(id);
+        }
+        if (isAlive) {
+            schedule(id);
+        }
+    }
+
+    // Brings a plant that is between events up to the current tick
+    private void catchUp(int id) {
+        states[id] = stateAfter(states[id], now - lastTick[id]);
+        lastTick[id] = now;
+    }
+
+    /**
+     * Plans the next event of a living plant: the first tick from lastTick
+     * whose outcome differs from the next tick's, and the state before it.
+     * The outcome flags only change where one of the thresholds below is
+     * crossed, so the event is the earliest of those that changes them
+     */
+    private void predict(int id) {
+        forecast.reset(states[id]);
+        int first = forecast.outcome(0);
+        long ticks = forecast.deathTick == 0 ? 1 : forecast.deathTick;
+        ticks = forecast.earlierChange(ticks, forecast.waterNeedTick, first);
+        ticks = forecast.earlierChange(ticks, forecast.sunlightNeedTick, first);
+        ticks = forecast.earlierChange(ticks, forecast.growFrom, first);
+        ticks = forecast.earlierChange(ticks, forecast.growUntil, first);
+        eventStates[id] = forecast.stateAfter(ticks);
+        eventTick[id] = lastTick[id] + ticks;
+    }
+
+    // State after a number of ticks, same as calling PackedPlant.tick() that many times
+    private int stateAfter(int state, long ticks) {
+        if (ticks == 0 || !PackedPlant.isAlive(state)) {
+            return state;
+        }
+        forecast.reset(state);
+        return forecast.stateAfter(ticks);
+    }
+
+    /**
+     * Where the thresholds of one living plant are crossed, counted in ticks
+     * from its state. Tick k is the (k + 1)th tick; "before tick k" is the
+     * state after k ticks
+     */
+    private static final class Forecast {
+
+        private int health;
+        private int water;
+        private int sunlight;
+        private int stage;
+
+        // Water below 20, then sunlight below 20, before this tick
+        private int waterNeedTick;
+        private int sunlightNeedTick;
+        private int needTick;
+
+        // Grows from growFrom up to, not including, growUntil
+        private int growFrom;
+        private int growUntil;
+
+        // Tick that kills the plant
+        private int deathTick;
+
+        void reset(int state) {
+            health = PackedPlant.health(state);
+            water = PackedPlant.waterLevel(state);
+            sunlight = PackedPlant.sunlightLevel(state);
+            stage = PackedPlant.growthStage(state);
+            waterNeedTick = water < 20 ? 0 : (water - 20) / 5 + 1;
+            sunlightNeedTick = sunlight < 20 ? 0 : (sunlight - 20) / 3 + 1;
+            needTick = Math.min(waterNeedTick, sunlightNeedTick);
+
+            // Water and sunlight stay above 30 after the tick before these
+            // ticks, which are never after needTick
+            int gateEnd = Math.min(water < 36 ? 0 : (water - 36) / 5 + 1, sunlight < 34 ? 0 : (sunlight - 34) / 3 + 1);
+            // Health never falls before needTick, so it passes 50 once
+            int lo = 0;
+            int hi = gateEnd;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (healthBefore(mid) > 50) {
+                    hi = mid;
+                } else {
+                    lo = mid + 1;
+                }
+            }
+            growFrom = lo;
+            growUntil = (int) Math.min(gateEnd, (long) lo + PackedPlant.MAX_STAGE - stage);
+
+            // Health minus the tick's penalty only reaches 0 at tick 0 before
+            // the first need, and after it falls by 5 or more a tick from at
+            // most 100, so the plant is dead within 20 more ticks
+            if (health == 0 && needTick > 0) {
+                deathTick = 0;
+            } else {
+                lo = needTick;
+                hi = needTick + 20;
+                while (lo < hi) {
+                    int mid = (lo + hi) >>> 1;
+                    if (healthBefore(mid) - penalty(mid) <= 0) {
+                        hi = mid;
+                    } else {
+                        lo = mid + 1;
+                    }
+                }
+                deathTick = lo;
+            }
+        }
+
+        // Sum of the health boosts of the first k ticks
+        private int boosts(int k) {
+            return BOOST_SUMS[(water * 101 + sunlight) * BOOST_TICKS + Math.min(k, BOOST_TICKS - 1)];
+        }
+
+        // Health taken by tick k's needs
+        private int penalty(int k) {
+            return (k >= waterNeedTick ? 10 : 0) + (k >= sunlightNeedTick ? 10 : 0);
+        }
+
+        // Health before tick k of a plant still alive. Until the first need it
+        // only rises, so capping the sum caps every step. From then on each
+        // tick loses 10 or 20 and gains at most 5, so the cap never applies
+        private int healthBefore(int k) {
+            if (k <= needTick) {
+                return Math.min(100, health + boosts(k));
+            }
+            return Math.min(100, health + boosts(needTick)) + boosts(k) - boosts(needTick)
+                    - 10 * (Math.max(0, k - waterNeedTick) + Math.max(0, k - sunlightNeedTick));
+        }
+
+        // Growth stage before tick k
+        private int stageBefore(long k) {
+            return stage + (int) Math.max(0, Math.min(k, growUntil) - growFrom);
+        }
+
+        // What tick k does, as Plant.TICK_* flags
+        int outcome(int k) {
+            int outcome = 0;
+            if (k >= waterNeedTick) {
+                outcome |= Plant.TICK_NEEDED_WATER;
+            }
+            if (k >= sunlightNeedTick) {
+                outcome |= Plant.TICK_NEEDED_SUNLIGHT;
+            }
+            if (k == deathTick) {
+                outcome |= Plant.TICK_WITHERED;
+            }
+            if (k >= growFrom && k < growUntil) {
+                outcome |= Plant.TICK_GREW;
+            }
+            return outcome;
+        }
+
+        // The earlier of ticks and tick k, if tick k is before death and does
+        // something other than tick 0
+        long earlierChange(long ticks, int k, int first) {
+            return k > 0 && k < ticks && outcome(k) != first ? k : ticks;
+        }
+
+        int stateAfter(long ticks) {
+            if (ticks > deathTick) {
+                // The tick that kills leaves health at that tick's boost
+                int k = deathTick;
+                return PackedPlant.pack(boosts(k + 1) - boosts(k), water - 5 * (k + 1), sunlight - 3 * (k + 1),
+                        stageBefore(k), false);
+            }
+            int k = (int) ticks;
+            return PackedPlant.pack(healthBefore(k), water - 5 * k, sunlight - 3 * k, stageBefore(k), true);
+        }
+    }
+
+    // Plans the next event of a living plant and puts it in the queue
+    private void schedule(int id) {
+        predict(id);
+        link(id);
+    }
+
+    private void grow() {
+        int capacity = Math.max(16, states.length + (states.length >> 1));
+        states = Arrays.copyOf(states, capacity);
+        lastTick = Arrays.copyOf(lastTick, capacity);
+        eventStates = Arrays.copyOf(eventStates, capacity);
+        eventTick = Arrays.copyOf(eventTick, capacity);
+        nextInBucket = Arrays.copyOf(nextInBucket, capacity);
+        prevInBucket = Arrays.copyOf(prevInBucket, capacity);
+        queued = Arrays.copyOf(queued, capacity);
+    }
+
+    // ========== Event queue ==========
+
+    private void link(int id) {
+        int bucket = (int) eventTick[id] & WHEEL_MASK;
+        int head = bucketHead[bucket];
+        nextInBucket[id] = head;
+        prevInBucket[id] = NONE;
+        if (head != NONE) {
+            prevInBucket[head] = id;
+        }
+        bucketHead[bucket] = id;
+        queued[id] = true;
+        pending++;
+    }
+
+    private void unlink(int id) {
+        int next = nextInBucket[id];
+        int prev = prevInBucket[id];
+        if (prev == NONE) {
+            bucketHead[(int) eventTick[id] & WHEEL_MASK] = next;
+        } else {
+            nextInBucket[prev] = next;
+        }
+        if (next != NONE) {
+            prevInBucket[next] = prev;
+        }
+        queued[id] = false;
+        pending--;
+    }
+
+    // ========== Getters ==========
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return Ticks since the garden started
+     */
+    public long getTick() {
+        return now;
+    }
+
+    public int getAliveCount() {
+        return aliveCount;
+    }
+
+    /**
+     * @return Plants waiting for their next event
+     */
+    public int getPendingEvents() {
+        return pending;
+    }
+
+    /**
+     * @return Events handled so far
+     */
+    public long getEventCount() {
+        return eventCount;
+    }
+}
@@ -0,0 +1,39 @@
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * GameClock - Source of time for everything that waits or reads the date
+ * Lets the game run in real time (SYSTEM), faster than real time
+ * (ScaledClock) or instantly (VirtualClock), without changing game code.
+ *
+ * Usage: new SeasonDetector(new VirtualClock(LocalDateTime.of(2024, 7, 1, 12, 0)))
+ */
+public interface GameClock {
+
+    // Wall-clock time and real sleeps, the default
+    GameClock SYSTEM = new SystemClock();
+
+    /**
+     * Monotonic time in nanoseconds, for measuring intervals only
+     */
+    long nanoTime();
+
+    /**
+     * Current local date and time on this clock
+     */
+    LocalDateTime now();
+
+    /**
+     * Waits until the given amount of clock time has passed
+     */
+    void sleepNanos(long nanos) throws InterruptedException;
+
+    default LocalDate today() {
+        return now().toLocalDate();
+    }
+
+    default void sleep(Duration duration) throws InterruptedException {
+        sleepNanos(duration.toNanos());
+    }
+}
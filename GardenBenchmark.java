@@ -0,0 +1,2263 @@
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * GardenBenchmark - Compares the bulk simulation back ends
+ * Every section first checks that a back end gives the same results as the
+ * Plant object model, then times it on a large random garden.
+ *
+ * Usage: java --add-modules jdk.incubator.vector GardenBenchmark [plants] [ticks]
+ */
+public class GardenBenchmark {
+
+    private static final long SEED = 42L;
+
+    public static void main(String[] args) {
+        int plants = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        int ticks = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+
+        System.out.println("=".repeat(60));
+        System.out.println("GARDEN BENCHMARK: " + plants + " plants, " + ticks + " ticks");
+        System.out.println("=".repeat(60));
+        System.out.println();
+
+        benchObjectsVersusColumns(plants, ticks);
+        benchOffHeap(plants, ticks);
+        benchPacked(plants, ticks);
+        benchVectorKernel(plants, ticks);
+        benchParallel(plants, ticks);
+        checkAllocations(ticks);
+        benchCompaction(plants, ticks);
+        benchEventDriven(plants);
+        checkAdvance();
+        benchTransitionTable(plants, ticks);
+        benchBatchCare(plants, ticks);
+        benchSeasons(plants, ticks);
+        benchConditions(plants, ticks);
+        benchQueries(plants, ticks);
+        benchIndexMaintenance(plants, ticks);
+        benchBitmapIndexes(plants, ticks);
+        benchSubscriptions(plants, ticks);
+        benchAggregates(plants, ticks);
+        benchEndangered(plants, ticks);
+        benchStatus(plants);
+        checkEventRing();
+        checkClocks();
+        checkTicker();
+    }
+
+    /**
+     * BENCH 1: Plant objects (GardenEngine) versus columnar PlantStore
+     */
+    private static void benchObjectsVersusColumns(int plants, int ticks) {
+        printHeader("1. GardenEngine (objects) vs PlantStore (columns)");
+
+        // Differential check on a smaller garden, which also warms up the JIT
+        List<Plant> sample = randomGarden(Math.min(plants, 200_000));
+        GardenEngine sampleEngine = new GardenEngine(sample.size());
+        sampleEngine.addPlants(sample);
+        PlantStore sampleStore = toStore(sample);
+        for (int t = 0; t < 50; t++) {
+            sampleEngine.tick();
+            sampleStore.tick();
+        }
+        verify(sample, sampleStore, "PlantStore after 50 ticks");
+
+        List<Plant> garden = randomGarden(plants);
+        GardenEngine engine = new GardenEngine(plants);
+        engine.addPlants(garden);
+        PlantStore store = toStore(garden);
+
+        long objectNanos = time(() -> engine.run(ticks));
+        long columnNanos = time(() -> {
+            for (int t = 0; t < ticks; t++) {
+                store.tick();
+            }
+        });
+        verify(garden, store, "PlantStore after timed run");
+
+        // The same plants visited out of allocation order, as in a garden
+        // built up over a long game: every plant is a cache miss
+        List<Plant> scattered = randomGarden(plants);
+        Collections.shuffle(scattered, new Random(SEED));
+        GardenEngine scatteredEngine = new GardenEngine(plants);
+        scatteredEngine.addPlants(scattered);
+        long scatteredNanos = time(() -> scatteredEngine.run(ticks));
+
+        report("GardenEngine", objectNanos, plants, ticks);
+        report("GardenEngine, scattered", scatteredNanos, plants, ticks);
+        report("PlantStore", columnNanos, plants, ticks);
+        System.out.printf("  Speedup: %.1fx over objects in allocation order, %.1fx over scattered objects%n%n",
+                (double) objectNanos / columnNanos, (double) scatteredNanos / columnNanos);
+    }
+
+    /**
+     * BENCH 2: Off-heap store, freed in one call through its arena
+     */
+    private static void benchOffHeap(int plants, int ticks) {
+        printHeader("2. OffHeapPlantStore (direct memory)");
+
+        List<Plant> garden = randomGarden(plants);
+        GardenEngine engine = new GardenEngine(plants);
+        engine.addPlants(garden);
+
+        try (PlantArena arena = new PlantArena()) {
+            OffHeapPlantStore store = new OffHeapPlantStore(arena, plants);
+            garden.forEach(store::add);
+
+            long nanos = time(() -> {
+                for (int t = 0; t < ticks; t++) {
+                    store.tick();
+                }
+            });
+            engine.run(ticks);
+            for (int id = 0; id < plants; id++) {
+                Plant plant = garden.get(id);
+                if (plant.getHealth() != store.getHealth(id)
+                        || plant.getWaterLevel() != store.getWaterLevel(id)
+                        || plant.getSunlightLevel() != store.getSunlightLevel(id)
+                        || plant.getGrowthStage() != store.getGrowthStage(id)
+                        || plant.isAlive() != store.isAlive(id)) {
+                    throw new IllegalStateException("OffHeapPlantStore: plant " + id + " differs, expected " + plant);
+                }
+            }
+            System.out.println("  ✓ OffHeapPlantStore matches the object model");
+            report("OffHeapPlantStore", nanos, plants, ticks);
+            System.out.printf("  Off-heap bytes: %.1f MB%n", arena.getAllocatedBytes() / 1e6);
+        }
+        System.out.println("  ✓ Arena closed, off-heap memory released");
+
+        // Closing while other threads read and tick: they must fail cleanly
+        PlantArena arena = new PlantArena();
+        OffHeapPlantStore shared = new OffHeapPlantStore(arena, 100_000);
+        garden.subList(0, Math.min(plants, 100_000)).forEach(shared::add);
+        int readers = 3;
+        AtomicLong reads = new AtomicLong();
+        AtomicLong refused = new AtomicLong();
+        List<Thread> threads = new ArrayList<>();
+        for (int r = 0; r < readers; r++) {
+            int reader = r;
+            Thread thread = new Thread(() -> {
+                try {
+                    for (long i = 0; ; i++) {
+                        if (reader == 0 && i % 1000 == 0) {
+                            shared.tick();
+                        }
+                        shared.getHealth(i % shared.size());
+                        reads.incrementAndGet();
+                    }
+                } catch (IllegalStateException e) {
+                    refused.incrementAndGet();
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        while (reads.get() < 100_000) {
+            Thread.onSpinWait();
+        }
+        arena.close();
+        for (Thread thread : threads) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        check(refused.get() == readers && !arena.isOpen() && arena.getAllocatedBytes() == 0,
+                "Threads using a closed arena were not refused");
+        System.out.println("  ✓ Closing the arena under " + readers + " busy threads refuses them, "
+                + reads.get() + " reads completed before");
+        System.out.println();
+    }
+
+    /**
+     * BENCH 3: Bit-packed int[] garden with the branch-free tick
+     */
+    private static void benchPacked(int plants, int ticks) {
+        printHeader("3. PackedPlant (one int per plant)");
+
+        List<Plant> garden = randomGarden(plants);
+        int[] packed = new int[plants];
+        for (int id = 0; id < plants; id++) {
+            packed[id] = PackedPlant.pack(garden.get(id));
+        }
+
+        long nanos = time(() -> {
+            for (int t = 0; t < ticks; t++) {
+                PackedPlant.tick(packed);
+            }
+        });
+        GardenEngine engine = new GardenEngine(plants);
+        engine.addPlants(garden);
+        engine.run(ticks);
+        for (int id = 0; id < plants; id++) {
+            if (packed[id] != PackedPlant.pack(garden.get(id))) {
+                throw new IllegalStateException("PackedPlant: plant " + id + " differs, expected " + garden.get(id));
+            }
+        }
+        System.out.println("  ✓ PackedPlant matches the object model");
+        report("PackedPlant", nanos, plants, ticks);
+        System.out.printf("  Garden size: %.1f MB%n%n", plants * 4 / 1e6);
+    }
+
+    /**
+     * BENCH 4: SIMD kernel (Vector API) versus the scalar kernel
+     */
+    private static void benchVectorKernel(int plants, int ticks) {
+        printHeader("4. VectorTickKernel vs scalar kernel");
+
+        TickKernel best = TickKernel.best();
+        if (best == TickKernel.SCALAR) {
+            System.out.println("  VectorTickKernel not available, using the scalar fallback");
+            System.out.println("  (compile vector/ and run with --add-modules jdk.incubator.vector)\n");
+            return;
+        }
+
+        List<Plant> garden = randomGarden(plants);
+        PlantStore scalar = toStore(garden);
+        PlantStore vector = toStore(garden);
+        for (int t = 0; t < ticks; t++) {
+            scalar.tick(TickKernel.SCALAR);
+            vector.tick(best);
+        }
+        verify(garden, scalar, vector, "VectorTickKernel after " + ticks + " ticks");
+
+        // Time single ticks of the freshly planted garden, restored before every
+        // tick, so the result is not dominated by dead plants being skipped
+        PlantStore pristine = toStore(garden);
+        PlantStore work = toStore(garden);
+        for (int t = 0; t < ticks; t++) {
+            restore(work, pristine);
+            work.tick(TickKernel.SCALAR);
+            restore(work, pristine);
+            work.tick(best);
+        }
+        long scalarNanos = 0;
+        long vectorNanos = 0;
+        for (int t = 0; t < ticks; t++) {
+            restore(work, pristine);
+            scalarNanos += time(() -> work.tick(TickKernel.SCALAR));
+            restore(work, pristine);
+            vectorNanos += time(() -> work.tick(best));
+        }
+
+        report("Scalar kernel", scalarNanos, plants, ticks);
+        report("Vector kernel", vectorNanos, plants, ticks);
+        System.out.printf("  Speedup: %.1fx%n%n", (double) scalarNanos / vectorNanos);
+    }
+
+    /**
+     * BENCH 5: Fork-join tick across garden partitions
+     */
+    private static void benchParallel(int plants, int ticks) {
+        printHeader("5. ParallelTickKernel vs sequential");
+
+        TickKernel best = TickKernel.best();
+        ParallelTickKernel parallel = new ParallelTickKernel();
+        List<Plant> garden = randomGarden(plants);
+        PlantStore sequential = toStore(garden);
+        PlantStore forked = toStore(garden);
+        for (int t = 0; t < ticks; t++) {
+            sequential.tick(best);
+            forked.tick(parallel);
+        }
+        verify(garden, sequential, forked, "ParallelTickKernel after " + ticks + " ticks");
+
+        PlantStore pristine = toStore(garden);
+        PlantStore work = toStore(garden);
+        long sequentialNanos = 0;
+        long parallelNanos = 0;
+        for (int t = 0; t < ticks; t++) {
+            restore(work, pristine);
+            sequentialNanos += time(() -> work.tick(best));
+            restore(work, pristine);
+            parallelNanos += time(() -> work.tick(parallel));
+        }
+
+        System.out.println("  Parallelism: " + parallel.getParallelism()
+                + " (" + Runtime.getRuntime().availableProcessors() + " cores)");
+        report("Sequential", sequentialNanos, plants, ticks);
+        report("Parallel", parallelNanos, plants, ticks);
+        System.out.printf("  Speedup: %.1fx%n%n", (double) sequentialNanos / parallelNanos);
+    }
+
+    /**
+     * CHECK 6: A steady-state growth cycle must not allocate.
+     * Counts the bytes the current thread allocates while plants grow quietly
+     * (no message to print) and while GardenEngine ticks a whole garden
+     */
+    private static void checkAllocations(int ticks) {
+        printHeader("6. Allocation check (Plant.grow / Plant.tick)");
+
+        if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean)) {
+            System.out.println("  Skipped: this JVM does not report per-thread allocations");
+            System.out.println();
+            return;
+        }
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        if (!threads.isThreadAllocatedMemorySupported() || !threads.isThreadAllocatedMemoryEnabled()) {
+            System.out.println("  Skipped: per-thread allocation counting is disabled");
+            System.out.println();
+            return;
+        }
+
+        List<Plant> garden = randomGarden(10_000);
+        GardenEngine engine = new GardenEngine(garden.size());
+        engine.addPlants(garden);
+
+        // Warm up so the JIT has compiled the loops before counting
+        for (int round = 0; round < 200; round++) {
+            growQuietly(garden);
+            engine.tick();
+        }
+
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int round = 0; round < ticks; round++) {
+            growQuietly(garden);
+        }
+        long growBytes = threads.getCurrentThreadAllocatedBytes() - before;
+
+        before = threads.getCurrentThreadAllocatedBytes();
+        for (int round = 0; round < ticks; round++) {
+            engine.tick();
+        }
+        long tickBytes = threads.getCurrentThreadAllocatedBytes() - before;
+
+        // Plants that raise NEEDS_WATER and NEEDS_SUNLIGHT, or GREW, every
+        // cycle: the events go to a sink that drops them, then to a ring.
+        // A fresh garden, as the engine ticks above left the first one dead
+        List<Plant> noisy = randomGarden(garden.size());
+        PlantEventSink sink = Plant.getEventSink();
+        PlantEventRing ring = new PlantEventRing(1 << 15);
+        long noneBytes;
+        long ringBytes;
+        try {
+            Plant.setEventSink(PlantEventSink.NONE);
+            for (int round = 0; round < 200; round++) {
+                growNoisily(noisy);
+            }
+            before = threads.getCurrentThreadAllocatedBytes();
+            for (int round = 0; round < ticks; round++) {
+                growNoisily(noisy);
+            }
+            noneBytes = threads.getCurrentThreadAllocatedBytes() - before;
+
+            Plant.setEventSink(ring);
+            int[] raised = new int[PlantEventType.values().length];
+            growNoisily(noisy);
+            ring.drain((plant, type, value) -> raised[type.ordinal()]++);
+            check(raised[PlantEventType.NEEDS_WATER.ordinal()] == noisy.size() / 2
+                    && raised[PlantEventType.NEEDS_SUNLIGHT.ordinal()] == noisy.size() / 2
+                    && raised[PlantEventType.GREW.ordinal()] == noisy.size() / 2,
+                    "Noisy plants did not raise their events: " + Arrays.toString(raised));
+            for (int round = 0; round < 200; round++) {
+                growNoisily(noisy);
+                ring.drain(PlantEventSink.NONE);
+            }
+            before = threads.getCurrentThreadAllocatedBytes();
+            for (int round = 0; round < ticks; round++) {
+                growNoisily(noisy);
+                ring.drain(PlantEventSink.NONE);
+            }
+            ringBytes = threads.getCurrentThreadAllocatedBytes() - before;
+        } finally {
+            Plant.setEventSink(sink);
+        }
+
+        long cycles = (long) garden.size() * ticks;
+        System.out.printf("  %-24s %8d bytes over %d cycles%n", "Plant.grow()", growBytes, cycles);
+        System.out.printf("  %-24s %8d bytes over %d cycles%n", "GardenEngine.tick()", tickBytes, cycles);
+        System.out.printf("  %-24s %8d bytes over %d cycles%n", "grow() events, NONE", noneBytes, cycles);
+        System.out.printf("  %-24s %8d bytes over %d cycles%n", "grow() events, ring", ringBytes, cycles);
+        if (growBytes != 0 || tickBytes != 0 || noneBytes != 0 || ringBytes != 0) {
+            throw new IllegalStateException("Steady-state growth cycle allocated memory");
+        }
+        check(ring.getDropped() == 0, "The event ring dropped events");
+        System.out.println("  ✓ Steady-state growth cycles allocate nothing, quiet or raising events");
+        System.out.println();
+    }
+
+    /**
+     * Keeps every plant alive and just above the thresholds, so grow() runs
+     * its full logic without printing anything
+     */
+    private static void growQuietly(List<Plant> garden) {
+        for (int i = 0, n = garden.size(); i < n; i++) {
+            Plant plant = garden.get(i);
+            plant.setHealth(50);
+            plant.setWaterLevel(25);
+            plant.setSunlightLevel(25);
+            plant.grow();
+        }
+    }
+
+    /**
+     * Even plants need water and sunlight this cycle (two events), odd
+     * plants grow (one event)
+     */
+    private static void growNoisily(List<Plant> garden) {
+        for (int i = 0, n = garden.size(); i < n; i++) {
+            Plant plant = garden.get(i);
+            boolean thirsty = (i & 1) == 0;
+            plant.setHealth(80);
+            plant.setWaterLevel(thirsty ? 10 : 80);
+            plant.setSunlightLevel(thirsty ? 10 : 80);
+            plant.grow();
+        }
+    }
+
+    /**
+     * BENCH 7: Ticking a mostly dead garden with and without compaction
+     */
+    private static void benchCompaction(int plants, int ticks) {
+        printHeader("7. Dead-plant compaction (PlantStore.compact)");
+
+        // Age the garden until most plants have died, scattered over the rows
+        List<Plant> garden = randomGarden(plants);
+        GardenEngine engine = new GardenEngine(plants);
+        engine.addPlants(garden);
+        engine.run(12);
+        PlantStore scattered = toStore(garden);
+        PlantStore compacted = toStore(garden);
+        int moved = compacted.compact();
+        System.out.printf("  %d of %d plants dead, %d rows moved out of the active range%n",
+                plants - scattered.getAliveCount(), plants, moved);
+
+        TickKernel best = TickKernel.best();
+        PlantStore work = toStore(garden);
+        PlantStore compactWork = toStore(garden);
+        long scatteredNanos = 0;
+        long compactedNanos = 0;
+        for (int t = 0; t < ticks; t++) {
+            restore(work, scattered);
+            scatteredNanos += time(() -> work.tick(best));
+            restore(compactWork, compacted);
+            compactedNanos += time(() -> compactWork.tick(best));
+        }
+        verify(garden, work, compactWork, "Compacted store after one tick");
+
+        engine.resetStats();
+        engine.run(ticks);
+        for (int t = 0; t < ticks; t++) {
+            scattered.tick();
+            compacted.tick();
+        }
+        verify(garden, compacted, "Compacted store after " + ticks + " more ticks");
+
+        report("Scattered dead rows", scatteredNanos, plants, ticks);
+        report("Compacted", compactedNanos, plants, ticks);
+        System.out.printf("  Speedup: %.1fx%n%n", (double) scatteredNanos / compactedNanos);
+    }
+
+    /**
+     * BENCH 8: Discrete-event garden versus ticking every plant every tick
+     */
+    private static void benchEventDriven(int plants) {
+        printHeader("8. EventDrivenGarden vs per-tick PackedPlant");
+
+        // Every state, some near the stage limit, read at every tick up to
+        // and past death against ticking the packed states one by one
+        int[] expected = new int[101 * 101 * 101];
+        EventDrivenGarden all = new EventDrivenGarden(expected.length);
+        for (int h = 0; h <= 100; h++) {
+            for (int w = 0; w <= 100; w++) {
+                for (int s = 0; s <= 100; s++) {
+                    int state = PackedPlant.pack(h, w, s, (h + w + s) % 2 == 0 ? 1 : PackedPlant.MAX_STAGE - 2, true);
+                    expected[all.add(state)] = state;
+                }
+            }
+        }
+        for (int t = 1; t <= Plant.MAX_UNATTENDED_TICKS + 2; t++) {
+            PackedPlant.tick(expected);
+            all.advance(1);
+            for (int id = 0; id < expected.length; id += t % 3 == 0 ? 1 : 7) {
+                if (all.getState(id) != expected[id]) {
+                    throw new IllegalStateException("EventDrivenGarden: after " + t + " ticks "
+                            + PackedPlant.toString(all.getState(id)) + ", expected " + PackedPlant.toString(expected[id]));
+                }
+            }
+        }
+        check(all.getAliveCount() == 0 && all.getPendingEvents() == 0, "Plants left after every state died");
+        System.out.println("  ✓ Computed events match per-tick PackedPlant for every state, at every tick");
+
+        int horizon = 100;
+        runEventDriven(randomGarden(Math.min(plants, 200_000)), horizon, false); // JIT warm-up
+        runEventDriven(randomGarden(plants), horizon, true);
+    }
+
+    private static void runEventDriven(List<Plant> garden, int horizon, boolean print) {
+        int plants = garden.size();
+        int[] packed = new int[plants];
+        for (int id = 0; id < plants; id++) {
+            packed[id] = PackedPlant.pack(garden.get(id));
+        }
+        EventDrivenGarden events = new EventDrivenGarden(plants);
+
+        long naiveNanos = time(() -> {
+            for (int t = 0; t < horizon; t++) {
+                PackedPlant.tick(packed);
+            }
+        });
+        long eventNanos = time(() -> {
+            for (int id = 0; id < plants; id++) {
+                events.add(PackedPlant.pack(garden.get(id)));
+            }
+            events.advanceTo(horizon);
+        });
+
+        for (int id = 0; id < plants; id++) {
+            if (events.getState(id) != packed[id]) {
+                throw new IllegalStateException("EventDrivenGarden: plant " + id + " differs, expected "
+                        + PackedPlant.toString(packed[id]));
+            }
+        }
+        if (!print) {
+            return;
+        }
+        System.out.println("  ✓ EventDrivenGarden matches per-tick PackedPlant after " + horizon + " ticks");
+        System.out.printf("  %d events for %d plants, %d still alive%n",
+                events.getEventCount(), plants, events.getAliveCount());
+        report("Per-tick PackedPlant", naiveNanos, plants, horizon);
+        report("EventDrivenGarden", eventNanos, plants, horizon);
+        System.out.printf("  Speedup: %.1fx%n%n", (double) naiveNanos / eventNanos);
+    }
+
+    /**
+     * CHECK 9: Plant.advance(n) against n calls to grow()
+     */
+    private static void checkAdvance() {
+        printHeader("9. Plant.advance (fast-forward)");
+
+        // The lifetime bound advance() relies on, over every reachable state
+        int longest = 0;
+        for (int h = 0; h <= 100; h++) {
+            for (int w = 0; w <= 100; w++) {
+                for (int s = 0; s <= 100; s++) {
+                    int state = PackedPlant.pack(h, w, s, 0, true);
+                    int lifetime = 0;
+                    while (PackedPlant.isAlive(state)) {
+                        state = PackedPlant.tick(state);
+                        lifetime++;
+                    }
+                    longest = Math.max(longest, lifetime);
+                }
+            }
+        }
+        if (longest > Plant.MAX_UNATTENDED_TICKS) {
+            throw new IllegalStateException("A plant lived " + longest + " ticks without care");
+        }
+        System.out.println("  ✓ Every state dies within " + longest + " unattended ticks");
+
+        // The same in every season. Lifetime depends only on the species'
+        // water and sunlight decay, so each distinct pair is checked once
+        Season previous = Plant.getSeason();
+        Set<String> decays = new HashSet<>();
+        int longestSeasonal = 0;
+        try {
+            for (Season season : Season.values()) {
+                SeasonMatrix.Row row = SeasonMatrix.of(season);
+                Plant.setSeason(season);
+                for (int species = 0; species < SpeciesProfile.count(); species++) {
+                    SpeciesProfile profile = SpeciesProfile.byId(species);
+                    if (decays.add(row.getWaterDecay(profile) + "/" + row.getSunlightDecay(profile))) {
+                        longestSeasonal = Math.max(longestSeasonal, longestUnattendedLife(species));
+                    }
+                }
+            }
+        } finally {
+            Plant.setSeason(previous);
+        }
+        if (longestSeasonal > Plant.MAX_UNATTENDED_SEASONAL_TICKS) {
+            throw new IllegalStateException("A plant lived " + longestSeasonal + " ticks without care in a season");
+        }
+        System.out.println("  ✓ In every season every state dies within " + longestSeasonal + " unattended ticks ("
+                + decays.size() + " decay pairs)");
+
+        PlantEventSink sink = Plant.getEventSink();
+        Plant.setEventSink(PlantEventSink.NONE);
+        try {
+            Random random = new Random(SEED);
+            List<Plant> grown = randomGarden(100_000);
+            List<Plant> advanced = randomGarden(100_000);
+            for (int id = 0; id < grown.size(); id++) {
+                int ticks = random.nextInt(2 * Plant.MAX_UNATTENDED_TICKS);
+                for (int t = 0; t < ticks; t++) {
+                    grown.get(id).grow();
+                }
+                // Beyond the lifetime bound any count gives the same result
+                long advanceBy = ticks > Plant.MAX_UNATTENDED_TICKS ? Long.MAX_VALUE : ticks;
+                advanced.get(id).advance(advanceBy);
+                if (!grown.get(id).toString().equals(advanced.get(id).toString())) {
+                    throw new IllegalStateException("advance(" + advanceBy + "): plant " + id + " is "
+                            + advanced.get(id) + ", grow() gave " + grown.get(id));
+                }
+            }
+        } finally {
+            Plant.setEventSink(sink);
+        }
+        System.out.println("  ✓ advance(n) matches n calls to grow() on 100000 random plants");
+
+        Plant plant = new Tomato();
+        long nanos = time(() -> plant.advance(Long.MAX_VALUE));
+        System.out.printf("  advance(Long.MAX_VALUE) took %.1f µs%n%n", nanos / 1e3);
+    }
+
+    // Most ticks a plant of one species lives without care, from any state, in the current season
+    private static int longestUnattendedLife(int species) {
+        int longest = 0;
+        for (int h = 0; h <= 100; h++) {
+            for (int w = 0; w <= 100; w++) {
+                for (int s = 0; s <= 100; s++) {
+                    Plant plant = species == PlantStore.OTHER ? namedLike(new Tomato())
+                            : PlantFactory.createPlant(String.valueOf(species + 1));
+                    plant.setHealth(h);
+                    plant.setWaterLevel(w);
+                    plant.setSunlightLevel(s);
+                    int lifetime = 0;
+                    while (plant.isAlive()) {
+                        plant.tick();
+                        lifetime++;
+                    }
+                    longest = Math.max(longest, lifetime);
+                }
+            }
+        }
+        return longest;
+    }
+
+    /**
+     * BENCH 10: Table lookups versus computing each tick
+     */
+    private static void benchTransitionTable(int plants, int ticks) {
+        printHeader("10. TransitionTable (precomputed ticks)");
+
+        TransitionTable table = TransitionTable.get();
+        System.out.printf("  Built in %.1f ms, %.1f MB%n", table.getBuildNanos() / 1e6, table.getMemoryBytes() / 1e6);
+
+        // Exhaustive check against the computed tick
+        for (int h = 0; h <= 100; h++) {
+            for (int w = 0; w <= 100; w++) {
+                for (int s = 0; s <= 100; s++) {
+                    int state = PackedPlant.pack(h, w, s, 7, true);
+                    if (table.tick(state) != PackedPlant.tick(state)) {
+                        throw new IllegalStateException("TransitionTable differs for " + PackedPlant.toString(state));
+                    }
+                }
+            }
+        }
+        System.out.println("  ✓ TransitionTable matches PackedPlant.tick() for every state");
+
+        TickKernel kernel = table.kernel(TickKernel.SCALAR);
+        List<Plant> garden = randomGarden(plants);
+        PlantStore pristine = toStore(garden);
+        PlantStore computed = toStore(garden);
+        PlantStore looked = toStore(garden);
+        for (int t = 0; t < ticks; t++) {
+            computed.tick();
+            looked.tick(kernel);
+        }
+        verify(garden, computed, looked, "Table kernel after " + ticks + " ticks");
+
+        long computedNanos = 0;
+        long tableNanos = 0;
+        for (int t = 0; t < ticks; t++) {
+            restore(computed, pristine);
+            computedNanos += time(computed::tick);
+            restore(looked, pristine);
+            tableNanos += time(() -> looked.tick(kernel));
+        }
+        report("Computed (scalar)", computedNanos, plants, ticks);
+        report("Table lookup", tableNanos, plants, ticks);
+        System.out.printf("  Speedup: %.1fx%n%n", (double) computedNanos / tableNanos);
+    }
+
+    /**
+     * BENCH 11: Care over a mixed list versus species-grouped loops
+     */
+    private static void benchBatchCare(int gardenSize, int ticks) {
+        printHeader("11. PlantBatch (species-grouped care)");
+
+        // A cache-sized garden, so the timing shows call dispatch rather than memory
+        int plants = Math.min(gardenSize, 50_000);
+        int rounds = ticks * 50;
+
+        PlantEventSink sink = Plant.getEventSink();
+        Plant.setEventSink(PlantEventSink.NONE);
+        try {
+            List<Plant> mixed = randomGarden(plants);
+            List<Plant> grouped = randomGarden(plants);
+            PlantBatch batch = new PlantBatch(grouped);
+
+            // Warm-up, so both loops are compiled with their final profiles
+            for (int r = 0; r < 5; r++) {
+                careMixed(mixed);
+                batch.waterAll();
+                batch.baskAll();
+            }
+
+            long mixedNanos = time(() -> {
+                for (int r = 0; r < rounds; r++) {
+                    careMixed(mixed);
+                }
+            });
+            long groupedNanos = time(() -> {
+                for (int r = 0; r < rounds; r++) {
+                    batch.waterAll();
+                    batch.baskAll();
+                }
+            });
+
+            for (int id = 0; id < plants; id++) {
+                if (!mixed.get(id).toString().equals(grouped.get(id).toString())) {
+                    throw new IllegalStateException("PlantBatch: plant " + id + " is " + grouped.get(id)
+                            + ", expected " + mixed.get(id));
+                }
+            }
+            System.out.println("  ✓ PlantBatch gives the same plants as the mixed loop");
+
+            // Plants of other classes that carry a built-in profile
+            List<Plant> strangers = new ArrayList<>();
+            List<String> cared = new ArrayList<>();
+            for (int species = 0; species < SpeciesProfile.count(); species++) {
+                strangers.add(new Plant(SpeciesProfile.byId(species)) {
+                    @Override
+                    public void water() {
+                        cared.add("water " + getName());
+                    }
+
+                    @Override
+                    public void bask() {
+                        cared.add("bask " + getName());
+                    }
+
+                    @Override
+                    public String harvestProduct() {
+                        return "harvest " + getName();
+                    }
+                });
+            }
+            strangers.add(new Potato());
+            PlantBatch strangerBatch = new PlantBatch(strangers);
+            strangerBatch.waterAll();
+            strangerBatch.baskAll();
+            check(cared.size() == 2 * SpeciesProfile.count(), "PlantBatch: care of other plant classes");
+            check(strangerBatch.harvestAll().size() == strangers.size(), "PlantBatch: harvest of other plant classes");
+            System.out.println("  ✓ Plants of other classes with a built-in profile get the virtual call");
+            report("Mixed list (megamorphic)", mixedNanos, plants, rounds);
+            report("Grouped by species", groupedNanos, plants, rounds);
+            System.out.printf("  Speedup: %.1fx%n%n", (double) mixedNanos / groupedNanos);
+        } finally {
+            Plant.setEventSink(sink);
+        }
+    }
+
+    // One call site for water() and one for bask(), each seeing all five species
+    private static void careMixed(List<Plant> garden) {
+        for (int i = 0, n = garden.size(); i < n; i++) {
+            garden.get(i).water();
+        }
+        for (int i = 0, n = garden.size(); i < n; i++) {
+            garden.get(i).bask();
+        }
+    }
+
+    // A plant made by name, in the state of the given plant
+    private static Plant namedLike(Plant plant) {
+        Plant named = new Plant("Fern") {
+            @Override
+            public void water() {
+                setWaterLevel(getWaterLevel() + getProfile().getWaterAmount());
+            }
+
+            @Override
+            public void bask() {
+                setSunlightLevel(getSunlightLevel() + getProfile().getSunlightAmount());
+            }
+
+            @Override
+            public String harvestProduct() {
+                return getProfile().harvest(getGrowthStage());
+            }
+        };
+        named.setHealth(plant.getHealth());
+        named.setWaterLevel(plant.getWaterLevel());
+        named.setSunlightLevel(plant.getSunlightLevel());
+        return named;
+    }
+
+    /**
+     * BENCH 12: Seasonal growth modifiers, base rules versus a season's row
+     */
+    private static void benchSeasons(int plants, int ticks) {
+        printHeader("12. SeasonMatrix (seasonal tick modifiers)");
+
+        TickKernel[] kernels = { TickKernel.SCALAR, TickKernel.best(),
+                TransitionTable.get().kernel(TickKernel.SCALAR) };
+        try {
+            // Every season, plus a swap halfway through, against the object model
+            List<Season> seasons = new ArrayList<>(Arrays.asList(Season.values()));
+            seasons.add(null);
+            for (Season season : seasons) {
+                List<Plant> sample = randomGarden(Math.min(plants, 50_000));
+                for (int i = 0; i < sample.size(); i += 7) {
+                    sample.set(i, namedLike(sample.get(i))); // Some plants of no known species
+                }
+                GardenEngine engine = new GardenEngine(sample.size());
+                engine.addPlants(sample);
+                PlantStore[] stores = new PlantStore[kernels.length];
+                for (int k = 0; k < kernels.length; k++) {
+                    stores[k] = toStore(sample);
+                }
+                for (int t = 0; t < 30; t++) {
+                    Season current = t < 15 ? season : Season.WINTER;
+                    Plant.setSeason(current);
+                    engine.tick();
+                    for (int k = 0; k < kernels.length; k++) {
+                        stores[k].setSeason(current);
+                        stores[k].tick(kernels[k]);
+                    }
+                }
+                for (PlantStore store : stores) {
+                    verifyQuietly(sample, store, "Season " + season);
+                }
+            }
+            System.out.println("  ✓ Every kernel matches the object model in every season, across a swap");
+
+            // A plant made by name follows the base rules in every season
+            for (Season season : Season.values()) {
+                Plant named = namedLike(new Tomato());
+                Plant base = namedLike(new Tomato());
+                for (int t = 0; t < 20; t++) {
+                    Plant.setSeason(season);
+                    named.tick();
+                    Plant.setSeason(null);
+                    base.tick();
+                }
+                check(named.getProfile() == SpeciesProfile.DEFAULT && named.getName().equals("Fern")
+                        && named.getWaterLevel() == base.getWaterLevel()
+                        && named.getSunlightLevel() == base.getSunlightLevel()
+                        && named.getGrowthStage() == base.getGrowthStage(), "Plant made by name in " + season);
+            }
+            System.out.println("  ✓ Plants made by name use the default profile and the base rules all year");
+
+            List<Plant> garden = randomGarden(plants);
+            PlantStore pristine = toStore(garden);
+            PlantStore store = toStore(garden);
+            long baseNanos = 0;
+            long seasonalNanos = 0;
+            for (int t = 0; t < ticks; t++) {
+                restore(store, pristine);
+                store.setSeason(null);
+                baseNanos += time(store::tick);
+                restore(store, pristine);
+                store.setSeason(Season.SUMMER);
+                seasonalNanos += time(store::tick);
+            }
+            report("Base rules", baseNanos, plants, ticks);
+            report("Summer row", seasonalNanos, plants, ticks);
+            System.out.printf("  Seasonal cost: %.2fx%n%n", (double) seasonalNanos / baseNanos);
+        } finally {
+            Plant.setSeason(null);
+        }
+    }
+
+    /**
+     * BENCH 13: Column-scanning PlantCondition versus stream().filter()
+     */
+    private static void benchConditions(int plants, int ticks) {
+        printHeader("13. PlantCondition (column scans to a bitmap)");
+
+        // The game's predicates, plus every operator on every attribute
+        Map<String, PlantCondition> conditions = new LinkedHashMap<>();
+        conditions.put("IS_THRIVING", Plant.IS_THRIVING);
+        conditions.put("NEEDS_IMMEDIATE_CARE", Plant.NEEDS_IMMEDIATE_CARE);
+        conditions.put("CAN_GROW", Plant.CAN_GROW);
+        conditions.put("IS_HEALTHY", PlantCondition.above(PlantAttribute.HEALTH, 70));
+        conditions.put("IS_READY_TO_HARVEST", PlantCondition.atLeast(PlantAttribute.GROWTH_STAGE, 5));
+        List<PlantCondition> checked = new ArrayList<>(conditions.values());
+        for (PlantAttribute attribute : PlantAttribute.values()) {
+            for (PlantCondition.Operator operator : PlantCondition.Operator.values()) {
+                for (int constant : new int[] { -1, 0, 7, 50, 100, 101, Integer.MIN_VALUE, Integer.MAX_VALUE }) {
+                    checked.add(PlantCondition.where(attribute, operator, constant));
+                }
+            }
+        }
+        checked.add(Plant.CAN_GROW.negate().or(Plant.IS_THRIVING.and(Plant.NEEDS_IMMEDIATE_CARE.negate())));
+
+        // Checked on fresh rows, after ticks, and after compaction moved rows around
+        List<Plant> sample = randomGarden(Math.min(plants, 100_000));
+        GardenEngine engine = new GardenEngine(sample.size());
+        engine.addPlants(sample);
+        PlantStore sampleStore = toStore(sample);
+        for (int round = 0; round < 3; round++) {
+            for (PlantCondition condition : checked) {
+                long[] selected = condition.select(sampleStore);
+                for (int id = 0; id < sample.size(); id++) {
+                    boolean bit = (selected[id >>> 6] & (1L << id)) != 0;
+                    if (bit != condition.test(sample.get(id))) {
+                        throw new IllegalStateException(condition + ": plant " + id + " selected=" + bit
+                                + " but test() says " + !bit);
+                    }
+                }
+            }
+            for (int t = 0; t < 10; t++) {
+                engine.tick();
+                sampleStore.tick();
+            }
+            sampleStore.compact();
+        }
+        System.out.println("  ✓ select() matches test() for " + checked.size() + " conditions, before and after compaction");
+
+        List<Plant> garden = randomGarden(plants);
+        PlantStore store = toStore(garden);
+        int rounds = Math.max(1, ticks / 4);
+        for (Map.Entry<String, PlantCondition> entry : conditions.entrySet()) {
+            PlantCondition condition = entry.getValue();
+            long streamCount = garden.stream().filter(condition).count();
+            if (streamCount != condition.count(store)) {
+                throw new IllegalStateException(entry.getKey() + ": counts differ");
+            }
+            long streamNanos = time(() -> {
+                for (int r = 0; r < rounds; r++) {
+                    garden.stream().filter(condition).count();
+                }
+            });
+            long scanNanos = time(() -> {
+                for (int r = 0; r < rounds; r++) {
+                    condition.select(store);
+                }
+            });
+            System.out.printf("  %-21s stream %7.1f ms, scan %6.1f ms  (%.1fx, %d matches)%n",
+                    entry.getKey(), streamNanos / 1e6 / rounds, scanNanos / 1e6 / rounds,
+                    (double) streamNanos / scanNanos, streamCount);
+        }
+        System.out.println();
+    }
+
+    /**
+     * BENCH 14: Garden queries, planned over secondary indexes or scanned
+     */
+    private static void benchQueries(int plants, int ticks) {
+        printHeader("14. GardenQuery + QueryPlanner (indexes vs scans)");
+
+        String[] queries = {
+                "species = tomato and water < 20 and stage >= 5",
+                "species = 'Helianthus (Sunflower)' && health > 95",
+                "water <= 2 and sunlight >= 98",
+                "health = 100",
+                "not alive or (health <= 30 && sunlight != 0)",
+                "species != potato and alive = false",
+                "waterLevel > 50 and sunlightLevel > 50 and health > 80",
+                "stage >= 3 or species = Calendula",
+                "health < -5 or health > 1000",
+        };
+
+        // Same answers as stream().filter() with and without indexes, after ticks and compaction
+        List<Plant> sample = randomGarden(Math.min(plants, 100_000));
+        GardenEngine engine = new GardenEngine(sample.size());
+        engine.addPlants(sample);
+        PlantStore sampleStore = toStore(sample);
+        QueryPlanner plain = new QueryPlanner(sampleStore);
+        QueryPlanner indexed = new QueryPlanner(sampleStore);
+        for (PlantAttribute attribute : PlantAttribute.values()) {
+            if (attribute.isBounded()) {
+                indexed.createIndex(attribute);
+            }
+        }
+        for (int round = 0; round < 3; round++) {
+            for (String text : queries) {
+                GardenQuery query = GardenQuery.parse(text);
+                int[] expected = new int[sample.size()];
+                int n = 0;
+                for (int id = 0; id < sample.size(); id++) {
+                    if (query.getCondition().test(sample.get(id))) {
+                        expected[n++] = id;
+                    }
+                }
+                expected = Arrays.copyOf(expected, n);
+                for (QueryPlanner planner : new QueryPlanner[] { plain, indexed }) {
+                    QueryResult result = planner.run(query);
+                    if (!Arrays.equals(expected, result.getIds())) {
+                        throw new IllegalStateException("Query '" + text + "' gave " + result
+                                + ", expected " + n + " plants");
+                    }
+                }
+            }
+            for (int t = 0; t < 3; t++) {
+                engine.tick();
+                sampleStore.tick();
+            }
+            sampleStore.compact();
+        }
+        for (String bad : new String[] { "height > 3", "water <", "species < tomato", "species = fern",
+                "(health > 3", "water > 3 and", "water ~ 3" }) {
+            try {
+                GardenQuery.parse(bad);
+                throw new IllegalStateException("Query '" + bad + "' should not parse");
+            } catch (IllegalArgumentException expected) {
+                // Rejected as it should be
+            }
+        }
+        System.out.println("  ✓ " + queries.length + " queries match stream().filter() with and without indexes");
+
+        List<Plant> garden = randomGarden(plants);
+        PlantStore store = toStore(garden);
+        QueryPlanner planner = new QueryPlanner(store);
+        planner.createIndex(PlantAttribute.SPECIES);
+        planner.createIndex(PlantAttribute.WATER_LEVEL);
+        planner.createIndex(PlantAttribute.HEALTH);
+        QueryPlanner scanner = new QueryPlanner(store);
+        int rounds = Math.max(1, ticks / 4);
+        for (String text : new String[] { queries[0], queries[2], queries[3], queries[6] }) {
+            GardenQuery query = GardenQuery.parse(text);
+            for (int r = 0; r < 10; r++) {
+                planner.run(query);
+                scanner.run(query);
+            }
+            long streamNanos = time(() -> {
+                for (int r = 0; r < rounds; r++) {
+                    garden.stream().filter(query.getCondition()).count();
+                }
+            });
+            long scanNanos = time(() -> {
+                for (int r = 0; r < rounds; r++) {
+                    scanner.run(query);
+                }
+            });
+            long plannedNanos = time(() -> {
+                for (int r = 0; r < rounds; r++) {
+                    planner.run(query);
+                }
+            });
+            System.out.println("  " + text);
+            System.out.println("    plan: " + planner.explain(text));
+            System.out.printf("    stream %7.1f ms, scan %6.1f ms, planned %6.2f ms  (%d matches)%n",
+                    streamNanos / 1e6 / rounds, scanNanos / 1e6 / rounds, plannedNanos / 1e6 / rounds,
+                    planner.run(query).size());
+        }
+        System.out.println();
+    }
+
+    /**
+     * BENCH 15: Keeping bucket indexes current through ticks and setters
+     */
+    private static void benchIndexMaintenance(int plants, int ticks) {
+        printHeader("15. SecondaryIndex maintenance (ticks and setters)");
+
+        // Every kind of change, checked against the store after each step
+        Random random = new Random(SEED);
+        List<Plant> sample = randomGarden(Math.min(plants, 20_000));
+        PlantStore sampleStore = toStore(sample);
+        List<SecondaryIndex> indexes = new ArrayList<>();
+        for (PlantAttribute attribute : PlantAttribute.values()) {
+            if (attribute.isBounded()) {
+                indexes.add(new SecondaryIndex(sampleStore, attribute));
+            }
+        }
+        TickKernel[] kernels = mixedKernels();
+        for (int step = 0; step < 60; step++) {
+            changeStore(sampleStore, random, step, kernels);
+            for (SecondaryIndex index : indexes) {
+                verifyIndex(index);
+            }
+        }
+        System.out.println("  ✓ Indexes match the store after ticks, setters, care, compaction and new rows");
+
+        // The rows each kernel reports changed, in every season and right
+        // after manual care, against a copy of the columns
+        PlantStore bitsStore = toStore(randomGarden(Math.min(plants, 20_000)));
+        for (int round = 0; round < 40; round++) {
+            bitsStore.setSeason(Season.values()[round % Season.values().length]);
+            if (round % 5 == 0) {
+                bitsStore.waterAll();
+            }
+            checkChangeBits(bitsStore, kernels[round % kernels.length]);
+        }
+        System.out.println("  ✓ Kernels report exactly the rows they change");
+
+        // Tick cost without and with the three vitals indexed; with indexes
+        // the tick includes moving the ids of the rows it changed
+        List<Plant> garden = randomGarden(plants);
+        PlantStore pristine = toStore(garden);
+        PlantStore store = toStore(garden);
+        long plainNanos = 0;
+        for (int t = 0; t < ticks; t++) {
+            plainNanos += time(store::tick);
+        }
+        store.restoreFrom(pristine);
+        List<SecondaryIndex> vitals = Arrays.asList(new SecondaryIndex(store, PlantAttribute.HEALTH),
+                new SecondaryIndex(store, PlantAttribute.WATER_LEVEL),
+                new SecondaryIndex(store, PlantAttribute.SUNLIGHT_LEVEL));
+        long movesBefore = 0;
+        long rebuildsBefore = 0;
+        for (SecondaryIndex index : vitals) {
+            movesBefore += index.getMoveCount();
+            rebuildsBefore += index.getRebuildCount();
+        }
+        long indexedNanos = 0;
+        for (int t = 0; t < ticks; t++) {
+            indexedNanos += time(store::tick);
+        }
+        long moves = -movesBefore;
+        long rebuilds = -rebuildsBefore;
+        for (SecondaryIndex index : vitals) {
+            moves += index.getMoveCount();
+            rebuilds += index.getRebuildCount();
+            verifyIndex(index);
+        }
+        report("Tick, no indexes", plainNanos, plants, ticks);
+        report("Tick, 3 indexes", indexedNanos, plants, ticks);
+        System.out.printf("  Index upkeep: %.2fx tick time (%.0f moved ids per tick, %d rebuilds)%n",
+                (double) (indexedNanos - plainNanos) / plainNanos, (double) moves / ticks, rebuilds);
+
+        // Single-row setters, with the same three indexes listening
+        int updates = 1_000_000;
+        int[] ids = random.ints(updates, 0, plants).toArray();
+        long indexedSetNanos = time(() -> {
+            for (int i = 0; i < updates; i++) {
+                store.setWaterLevel(ids[i], (i + 7) % 101);
+            }
+        });
+        for (SecondaryIndex index : vitals) {
+            verifyIndex(index);
+            index.close();
+        }
+        long plainSetNanos = time(() -> {
+            for (int i = 0; i < updates; i++) {
+                store.setWaterLevel(ids[i], i % 101);
+            }
+        });
+        System.out.printf("  setWaterLevel: %.1f ns plain, %.1f ns with 3 indexes%n%n",
+                (double) plainSetNanos / updates, (double) indexedSetNanos / updates);
+    }
+
+    /**
+     * BENCH 16: Compressed bitmaps of the care predicates, kept current
+     */
+    private static void benchBitmapIndexes(int plants, int ticks) {
+        printHeader("16. BitmapIndex of care predicates (compressed bitmaps)");
+
+        // CompressedBitmap against BitSet: sparse and dense chunks, removals
+        // that shrink bitmap containers back to arrays, and and/or
+        Random random = new Random(SEED);
+        for (int round = 0; round < 20; round++) {
+            CompressedBitmap a = new CompressedBitmap();
+            CompressedBitmap b = new CompressedBitmap();
+            BitSet expectedA = new BitSet();
+            BitSet expectedB = new BitSet();
+            int range = 1 << (12 + round % 10);
+            for (int i = 0; i < 40_000; i++) {
+                int value = random.nextInt(range);
+                CompressedBitmap bitmap = (i & 1) == 0 ? a : b;
+                BitSet expected = (i & 1) == 0 ? expectedA : expectedB;
+                if (random.nextInt(4) == 0) {
+                    check(bitmap.remove(value) == expected.get(value), "remove " + value);
+                    expected.clear(value);
+                } else {
+                    check(bitmap.add(value) != expected.get(value), "add " + value);
+                    expected.set(value);
+                }
+            }
+            verifyBitmap(a, expectedA, "bitmap");
+            BitSet and = (BitSet) expectedA.clone();
+            and.and(expectedB);
+            verifyBitmap(CompressedBitmap.and(a, b), and, "and");
+            BitSet or = (BitSet) expectedA.clone();
+            or.or(expectedB);
+            verifyBitmap(CompressedBitmap.or(a, b), or, "or");
+        }
+        System.out.println("  ✓ CompressedBitmap add/remove/and/or match BitSet");
+
+        // Indexes against a fresh select after every kind of change
+        List<PlantCondition> conditions = Arrays.asList(Plant.NEEDS_IMMEDIATE_CARE, Plant.IS_THRIVING,
+                Plant.IS_READY_TO_HARVEST);
+        PlantStore sampleStore = toStore(randomGarden(Math.min(plants, 20_000)));
+        List<BitmapIndex> sampleIndexes = new ArrayList<>();
+        for (PlantCondition condition : conditions) {
+            sampleIndexes.add(new BitmapIndex(sampleStore, condition));
+        }
+        TickKernel[] kernels = mixedKernels();
+        for (int step = 0; step < 60; step++) {
+            changeStore(sampleStore, random, step, kernels);
+            for (BitmapIndex index : sampleIndexes) {
+                verifyBitmap(index.snapshot(), BitSet.valueOf(index.getCondition().select(sampleStore)),
+                        index.getCondition().toString());
+            }
+        }
+        BitSet expected = BitSet.valueOf(Plant.NEEDS_IMMEDIATE_CARE.and(Plant.IS_READY_TO_HARVEST).select(sampleStore));
+        verifyBitmap(sampleIndexes.get(0).and(sampleIndexes.get(2)), expected, "index and");
+        System.out.println("  ✓ Indexes match the store after ticks, setters, care, compaction and new rows");
+
+        // Per tick: the upkeep of three indexes, which re-evaluate only the
+        // rows the tick changed, versus selecting all three from scratch.
+        // A base-rule tick changes every living row, so upkeep costs about a
+        // select plus the bitmap updates; in a compacted garden that is
+        // mostly dead it follows the few living rows
+        List<Plant> garden = randomGarden(plants);
+        PlantStore pristine = toStore(garden);
+        PlantStore store = toStore(garden);
+        List<BitmapIndex> indexes = benchBitmapUpkeep("Garden", pristine, store, conditions, ticks);
+
+        benchBitmapUpkeep("90% dead", mostlyDeadStore(plants), mostlyDeadStore(plants), conditions, ticks)
+                .forEach(BitmapIndex::close);
+
+        int polls = 1_000_000;
+        long[] total = { 0 };
+        long pollNanos = time(() -> {
+            for (int i = 0; i < polls; i++) {
+                total[0] += indexes.get(i % 3).count();
+            }
+        });
+        int[] rescue = new int[1];
+        long andNanos = time(() -> rescue[0] = indexes.get(0).and(indexes.get(2)).cardinality());
+        System.out.printf("  count() between ticks: %.1f ns; needs care AND ready to harvest: %d plants in %.2f ms%n%n",
+                (double) pollNanos / polls, rescue[0], andNanos / 1e6);
+        indexes.forEach(BitmapIndex::close);
+    }
+
+    // Random rows of which only every tenth is alive, compacted
+    private static PlantStore mostlyDeadStore(int plants) {
+        Random random = new Random(SEED);
+        PlantStore store = new PlantStore(plants);
+        for (int i = 0; i < plants; i++) {
+            store.add(random.nextInt(5), random.nextInt(101), random.nextInt(101), random.nextInt(101), 1,
+                    i % 10 == 0);
+        }
+        store.compact();
+        return store;
+    }
+
+    /**
+     * Times ticks of the store without and with a BitmapIndex per
+     * condition, and a select of every condition after each tick
+     *
+     * @return The indexes, still following the store
+     */
+    private static List<BitmapIndex> benchBitmapUpkeep(String label, PlantStore pristine, PlantStore store,
+            List<PlantCondition> conditions, int ticks) {
+        long tickNanos = 0;
+        long selectNanos = 0;
+        for (int t = 0; t < ticks; t++) {
+            tickNanos += time(store::tick);
+            selectNanos += time(() -> conditions.forEach(condition -> condition.count(store)));
+        }
+        store.restoreFrom(pristine);
+        List<BitmapIndex> indexes = new ArrayList<>();
+        for (PlantCondition condition : conditions) {
+            indexes.add(new BitmapIndex(store, condition));
+        }
+        long flipsBefore = 0;
+        for (BitmapIndex index : indexes) {
+            flipsBefore += index.getFlipCount();
+        }
+        long indexedNanos = 0;
+        for (int t = 0; t < ticks; t++) {
+            indexedNanos += time(store::tick);
+        }
+        long flips = -flipsBefore;
+        long bytes = 0;
+        for (BitmapIndex index : indexes) {
+            flips += index.getFlipCount();
+            bytes += index.getMemoryBytes();
+            verifyBitmap(index.snapshot(), BitSet.valueOf(index.getCondition().select(store)),
+                    index.getCondition().toString());
+        }
+        int plants = store.size();
+        report(label + ": tick", tickNanos, plants, ticks);
+        report(label + ": tick+bitmaps", indexedNanos, plants, ticks);
+        report(label + ": 3 selects", selectNanos, plants, ticks);
+        System.out.printf("  Bitmap upkeep %.1f ms vs select %.1f ms per tick; %.0f flipped ids per tick,"
+                        + " %.1f MB compressed vs %.1f MB as plain bits%n",
+                (indexedNanos - tickNanos) / 1e6 / ticks, selectNanos / 1e6 / ticks, (double) flips / ticks,
+                bytes / 1e6, 3.0 * plants / 8 / 1e6);
+        return indexes;
+    }
+
+    // Fails loudly unless the bitmap holds exactly the expected values
+    private static void verifyBitmap(CompressedBitmap bitmap, BitSet expected, String label) {
+        int[] values = bitmap.toArray();
+        check(bitmap.cardinality() == expected.cardinality() && values.length == expected.cardinality(),
+                label + ": holds " + bitmap.cardinality() + " values, expected " + expected.cardinality());
+        int i = 0;
+        for (int value = expected.nextSetBit(0); value >= 0; value = expected.nextSetBit(value + 1)) {
+            check(values[i++] == value && bitmap.contains(value), label + ": missing " + value);
+        }
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new IllegalStateException(message);
+        }
+    }
+
+    /**
+     * BENCH 17: Subscriptions to plants entering and leaving a condition
+     */
+    private static void benchSubscriptions(int plants, int ticks) {
+        printHeader("17. PlantSubscriptions (enter/exit callbacks)");
+
+        // A subscriber that mirrors the matches must end up with exactly the
+        // select of the condition after every kind of change, also behind a
+        // queue too small for a tick, where resync() repairs what was dropped
+        Random random = new Random(SEED);
+        PlantStore sampleStore = toStore(randomGarden(Math.min(plants, 20_000)));
+        PlantSubscriptions sampleSubscriptions = new PlantSubscriptions(sampleStore);
+        List<PlantSubscriptions.Subscription> subscriptions = new ArrayList<>();
+        List<BitSet> mirrors = new ArrayList<>();
+        List<PlantCondition> conditions = Arrays.asList(Plant.NEEDS_IMMEDIATE_CARE, Plant.IS_READY_TO_HARVEST,
+                Plant.IS_THRIVING);
+        for (int c = 0; c < conditions.size(); c++) {
+            PlantCondition condition = conditions.get(c);
+            BitSet mirror = BitSet.valueOf(condition.select(sampleStore));
+            mirrors.add(mirror);
+            int capacity = c < 2 ? PlantSubscriptions.DEFAULT_QUEUE_CAPACITY : 16;
+            subscriptions.add(sampleSubscriptions.subscribe(condition, new PlantSubscriber() {
+                @Override
+                public void entered(int id) {
+                    check(!mirror.get(id), "entered twice: " + id);
+                    mirror.set(id);
+                }
+
+                @Override
+                public void exited(int id) {
+                    check(mirror.get(id), "exited without entering: " + id);
+                    mirror.clear(id);
+                }
+
+                @Override
+                public void resync(int[] ids) {
+                    mirror.clear();
+                    for (int id : ids) {
+                        mirror.set(id);
+                    }
+                }
+            }, capacity));
+        }
+        TickKernel[] kernels = mixedKernels();
+        for (int step = 0; step < 60; step++) {
+            changeStore(sampleStore, random, step, kernels);
+            for (int i = 0; i < subscriptions.size(); i++) {
+                PlantSubscriptions.Subscription subscription = subscriptions.get(i);
+                check(awaitDelivery(subscription), "delivery timed out");
+                check(subscription.getFailures() == 0 && (i == 2 || subscription.getDropped() == 0),
+                        subscription + ": " + subscription.getFailures() + " failures");
+                check(mirrors.get(i).equals(BitSet.valueOf(subscription.getCondition().select(sampleStore))),
+                        subscription + " lost track of the store at step " + step);
+            }
+        }
+        PlantSubscriptions.Subscription small = subscriptions.get(2);
+        check(small.getDropped() > 0 && small.getResyncs() > 0, "The small queue never overflowed");
+        sampleSubscriptions.close();
+        System.out.println("  ✓ Subscribers mirror the store after ticks, setters, care, compaction and new rows");
+        System.out.printf("  ✓ Behind a 16-entry queue: %d transitions dropped, repaired by %d resyncs%n",
+                small.getDropped(), small.getResyncs());
+
+        // Tick cost without subscriptions, with two counting subscribers, and
+        // with one that takes 1 ms per call behind a small queue
+        PlantStore pristine = toStore(randomGarden(plants));
+        PlantStore store = toStore(randomGarden(plants));
+        long plainNanos = 0;
+        for (int t = 0; t < ticks; t++) {
+            plainNanos += time(store::tick);
+        }
+
+        store.restoreFrom(pristine);
+        PlantSubscriptions counted = new PlantSubscriptions(store);
+        long[] calls = new long[1];
+        PlantSubscriber counter = new PlantSubscriber() {
+            @Override
+            public void entered(int id) {
+                calls[0]++;
+            }
+
+            @Override
+            public void exited(int id) {
+                calls[0]++;
+            }
+
+            @Override
+            public void resync(int[] ids) {
+                calls[0]++;
+            }
+        };
+        PlantSubscriptions.Subscription care = counted.subscribe(Plant.NEEDS_IMMEDIATE_CARE, counter);
+        PlantSubscriptions.Subscription harvest = counted.subscribe(Plant.IS_READY_TO_HARVEST, counter);
+        long subscribedNanos = 0;
+        for (int t = 0; t < ticks; t++) {
+            subscribedNanos += time(store::tick);
+        }
+        check(awaitDelivery(care) && awaitDelivery(harvest), "delivery timed out");
+        long transitions = care.getTransitions() + harvest.getTransitions();
+        long dropped = care.getDropped() + harvest.getDropped();
+        long resyncs = care.getResyncs() + harvest.getResyncs();
+        counted.close();
+
+        store.restoreFrom(pristine);
+        PlantSubscriptions slow = new PlantSubscriptions(store);
+        PlantSubscriber sleeper = new PlantSubscriber() {
+            @Override
+            public void entered(int id) {
+                LockSupport.parkNanos(1_000_000);
+            }
+
+            @Override
+            public void exited(int id) {
+                LockSupport.parkNanos(1_000_000);
+            }
+
+            @Override
+            public void resync(int[] ids) {
+                LockSupport.parkNanos(1_000_000);
+            }
+        };
+        PlantSubscriptions.Subscription lagging = slow.subscribe(Plant.NEEDS_IMMEDIATE_CARE, sleeper, 1024);
+        long slowNanos = 0;
+        for (int t = 0; t < ticks; t++) {
+            slowNanos += time(store::tick);
+        }
+        long slowDropped = lagging.getDropped();
+        long slowTransitions = lagging.getTransitions();
+        check(awaitDelivery(lagging) && lagging.getResyncs() > 0, "The slow subscriber was not resynced");
+        slow.close();
+
+        report("Tick, no subscriptions", plainNanos, plants, ticks);
+        report("Tick, 2 subscriptions", subscribedNanos, plants, ticks);
+        report("Tick, 1 slow subscriber", slowNanos, plants, ticks);
+        System.out.printf("  %.0f transitions per tick, %d dropped, %d resyncs; slow subscriber dropped %d of %d"
+                        + " and was resynced%n%n",
+                (double) transitions / ticks, dropped, resyncs, slowDropped, slowTransitions);
+    }
+
+    private static boolean awaitDelivery(PlantSubscriptions.Subscription subscription) {
+        try {
+            return subscription.awaitDelivery(10_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * BENCH 18: Per-species vitals statistics kept by differences
+     */
+    private static void benchAggregates(int plants, int ticks) {
+        printHeader("18. SpeciesAggregates (per-species statistics)");
+
+        // Snapshots against a recount of every plant after every kind of change
+        Random random = new Random(SEED);
+        PlantStore sampleStore = toStore(randomGarden(Math.min(plants, 20_000)));
+        SpeciesAggregates sampleAggregates = new SpeciesAggregates(sampleStore);
+        TickKernel[] kernels = mixedKernels();
+        for (int step = 0; step < 60; step++) {
+            changeStore(sampleStore, random, step, kernels);
+            verifyAggregates(sampleAggregates.snapshot(), sampleStore, "step " + step);
+        }
+        sampleAggregates.close();
+
+        // A store that starts empty, in a store without rows and as rows arrive
+        for (int capacity : new int[] { 0, 64 }) {
+            PlantStore emptyStore = new PlantStore(capacity);
+            SpeciesAggregates emptyAggregates = new SpeciesAggregates(emptyStore);
+            verifyAggregates(emptyAggregates.snapshot(), emptyStore, "empty store of capacity " + capacity);
+            emptyStore.tick();
+            verifyAggregates(emptyAggregates.snapshot(), emptyStore, "tick of an empty store");
+            for (int i = 0; i < 100; i++) {
+                emptyStore.add(random.nextInt(5), random.nextInt(101), random.nextInt(101),
+                        random.nextInt(101), 1, random.nextBoolean());
+            }
+            emptyStore.tick();
+            verifyAggregates(emptyAggregates.snapshot(), emptyStore, "rows added to an empty store");
+            emptyAggregates.close();
+        }
+        System.out.println("  ✓ Snapshots match a recount after ticks, setters, care, compaction, new rows and an empty start");
+
+        // Per tick: following the differences versus recounting every plant
+        PlantStore pristine = toStore(randomGarden(plants));
+        PlantStore store = toStore(randomGarden(plants));
+        long plainNanos = 0;
+        long recountNanos = 0;
+        for (int t = 0; t < ticks; t++) {
+            plainNanos += time(store::tick);
+            recountNanos += time(() -> recount(store));
+        }
+        store.restoreFrom(pristine);
+        SpeciesAggregates aggregates = new SpeciesAggregates(store);
+        long followedNanos = 0;
+        for (int t = 0; t < ticks; t++) {
+            followedNanos += time(store::tick);
+        }
+        verifyAggregates(aggregates.snapshot(), store, "after " + ticks + " ticks");
+
+        int reads = 100_000;
+        double[] mean = { 0 };
+        long readNanos = time(() -> {
+            for (int i = 0; i < reads; i++) {
+                mean[0] += aggregates.snapshot().getMean(PlantAttribute.HEALTH, i % SpeciesProfile.count());
+            }
+        });
+        aggregates.close();
+        report("Tick", plainNanos, plants, ticks);
+        report("Tick + aggregates", followedNanos, plants, ticks);
+        report("Recount after tick", recountNanos, plants, ticks);
+        System.out.printf("  snapshot(): %.2f µs for %d species x 4 attributes x %d bins%n%n",
+                readNanos / 1e3 / reads, SpeciesProfile.count(), SpeciesAggregates.BINS);
+    }
+
+    // Counts, sums and histograms of the living plants, walked one by one
+    private static long[][] recount(PlantStore store) {
+        PlantAttribute[] attributes = { PlantAttribute.HEALTH, PlantAttribute.WATER_LEVEL,
+                PlantAttribute.SUNLIGHT_LEVEL, PlantAttribute.GROWTH_STAGE };
+        int species = SpeciesProfile.count();
+        long[][] stats = new long[1 + attributes.length * 2][];
+        stats[0] = new long[species];
+        for (int a = 0; a < attributes.length; a++) {
+            stats[1 + 2 * a] = new long[species];
+            stats[2 + 2 * a] = new long[species * SpeciesAggregates.BINS];
+        }
+        for (int id = 0; id < store.size(); id++) {
+            if (!store.isAlive(id)) {
+                continue;
+            }
+            int sp = store.getSpecies(id);
+            stats[0][sp]++;
+            for (int a = 0; a < attributes.length; a++) {
+                int value = attributes[a].valueOf(store, id);
+                stats[1 + 2 * a][sp] += value;
+                stats[2 + 2 * a][sp * SpeciesAggregates.BINS + Math.min(value, SpeciesAggregates.BINS - 1)]++;
+            }
+        }
+        return stats;
+    }
+
+    private static void verifyAggregates(SpeciesAggregates.Snapshot snapshot, PlantStore store, String label) {
+        PlantAttribute[] attributes = { PlantAttribute.HEALTH, PlantAttribute.WATER_LEVEL,
+                PlantAttribute.SUNLIGHT_LEVEL, PlantAttribute.GROWTH_STAGE };
+        long[][] expected = recount(store);
+        for (int sp = 0; sp < SpeciesProfile.count(); sp++) {
+            check(snapshot.getCount(sp) == expected[0][sp], label + ": count of species " + sp);
+            for (int a = 0; a < attributes.length; a++) {
+                check(snapshot.getSum(attributes[a], sp) == expected[1 + 2 * a][sp],
+                        label + ": " + attributes[a] + " sum of species " + sp);
+                int[] histogram = snapshot.getHistogram(attributes[a], sp);
+                int min = -1;
+                int max = -1;
+                for (int bin = 0; bin < SpeciesAggregates.BINS; bin++) {
+                    long count = expected[2 + 2 * a][sp * SpeciesAggregates.BINS + bin];
+                    check(histogram[bin] == count, label + ": " + attributes[a] + " bin " + bin + " of species " + sp);
+                    if (count > 0) {
+                        min = min < 0 ? bin : min;
+                        max = bin;
+                    }
+                }
+                check(snapshot.getMin(attributes[a], sp) == min && snapshot.getMax(attributes[a], sp) == max,
+                        label + ": " + attributes[a] + " min/max of species " + sp);
+            }
+        }
+    }
+
+    /**
+     * BENCH 19: Top-K of the plants closest to death
+     */
+    private static void benchEndangered(int plants, int ticks) {
+        printHeader("19. EndangeredPlants (top K by health, then water)");
+
+        // Rankings against a full sort after every kind of change, and after
+        // care actions on the plants at the top
+        Random random = new Random(SEED);
+        PlantStore sampleStore = toStore(randomGarden(Math.min(plants, 20_000)));
+        List<EndangeredPlants> views = Arrays.asList(new EndangeredPlants(sampleStore, 1),
+                new EndangeredPlants(sampleStore, 50), new EndangeredPlants(sampleStore, 1000),
+                new EndangeredPlants(sampleStore, 100_000));
+        TickKernel[] kernels = mixedKernels();
+        for (int step = 0; step < 60; step++) {
+            changeStore(sampleStore, random, step, kernels);
+            for (EndangeredPlants view : views) {
+                verifyRanking(view, "step " + step);
+                for (int i = 0; i < 20 && view.count() > 0; i++) {
+                    int id = view.ids(random.nextInt(view.count()), 1)[0];
+                    if (random.nextBoolean()) {
+                        sampleStore.water(id);
+                    } else {
+                        sampleStore.setHealth(id, random.nextInt(101));
+                    }
+                }
+                verifyRanking(view, "care at step " + step);
+            }
+        }
+        views.forEach(EndangeredPlants::close);
+        System.out.println("  ✓ Rankings and pages match a full sort after ticks, care and compaction");
+
+        // Per tick: catching up K = 1000 versus sorting every living plant
+        PlantStore store = toStore(randomGarden(plants));
+        EndangeredPlants endangered = new EndangeredPlants(store, 1000);
+        long tickNanos = 0;
+        long catchUpNanos = 0;
+        long sortNanos = 0;
+        for (int t = 0; t < ticks; t++) {
+            tickNanos += time(store::tick);
+            catchUpNanos += time(endangered::count);
+            sortNanos += time(() -> rankByFullSort(store));
+        }
+        int cares = 10_000;
+        long careNanos = time(() -> {
+            for (int i = 0; i < cares; i++) {
+                store.water(endangered.ids(0, 1)[0]);
+            }
+        });
+        report("Tick", tickNanos, plants, ticks);
+        report("Catch-up, K = 1000", catchUpNanos, plants, ticks);
+        report("Full sort", sortNanos, plants, ticks);
+        System.out.printf("  %d refreshes, %d bound recalibrations; water the top plant and re-read: %.2f µs%n%n",
+                endangered.getRefreshCount(), endangered.getRecalibrationCount() - 1, careNanos / 1e3 / cares);
+        endangered.close();
+    }
+
+    /**
+     * BENCH 20: Status maps versus a reusable PlantStatus and bulk arrays
+     */
+    private static void benchStatus(int plants) {
+        printHeader("20. Plant status (maps vs PlantStatus vs readStatus)");
+
+        // Maps built from PlantStatus against the values read one getter at a time
+        Random random = new Random(SEED);
+        List<Plant> sampleGarden = randomGarden(Math.min(plants, 20_000));
+        PlantStatus status = new PlantStatus();
+        for (Plant plant : sampleGarden) {
+            check(plant.getStatus().equals(legacyStatus(plant)), "status map of " + plant);
+            check(status.read(plant).toMap().equals(legacyStatus(plant)), "PlantStatus of " + plant);
+        }
+        PlantStore sampleStore = toStore(sampleGarden);
+        TickKernel[] kernels = mixedKernels();
+        for (int step = 0; step < 30; step++) {
+            changeStore(sampleStore, random, step, kernels);
+            int n = sampleStore.size();
+            byte[] species = new byte[n];
+            byte[] health = new byte[n];
+            byte[] water = new byte[n];
+            byte[] sunlight = new byte[n];
+            int[] stage = new int[n];
+            boolean[] alive = new boolean[n];
+            boolean[] thriving = new boolean[n];
+            boolean[] needsCare = new boolean[n];
+            check(sampleStore.readStatus(species, health, water, sunlight, stage, alive, thriving, needsCare) == n,
+                    "readStatus count at step " + step);
+            for (int id = 0; id < n; id++) {
+                status.read(sampleStore, id);
+                String label = "plant " + id + " at step " + step;
+                check(status.getId() == id && status.getSpecies() == SpeciesProfile.byId(species[id])
+                        && species[id] == sampleStore.getSpecies(id), label + ": species");
+                check(status.getHealth() == sampleStore.getHealth(id) && health[id] == status.getHealth(),
+                        label + ": health");
+                check(status.getWaterLevel() == sampleStore.getWaterLevel(id) && water[id] == status.getWaterLevel(),
+                        label + ": water");
+                check(status.getSunlightLevel() == sampleStore.getSunlightLevel(id)
+                        && sunlight[id] == status.getSunlightLevel(), label + ": sunlight");
+                check(status.getGrowthStage() == sampleStore.getGrowthStage(id) && stage[id] == status.getGrowthStage(),
+                        label + ": growth stage");
+                check(status.isAlive() == sampleStore.isAlive(id) && alive[id] == status.isAlive(), label + ": alive");
+                check(status.isThriving() == Plant.IS_THRIVING.test(sampleStore, id)
+                        && thriving[id] == status.isThriving(), label + ": thriving");
+                check(status.needsCare() == Plant.NEEDS_IMMEDIATE_CARE.test(sampleStore, id)
+                        && needsCare[id] == status.needsCare(), label + ": needs care");
+            }
+        }
+        System.out.println("  ✓ PlantStatus and readStatus match the maps and getters after ticks, care and compaction");
+
+        // One pass over the whole garden, each way
+        List<Plant> garden = randomGarden(plants);
+        PlantStore store = toStore(garden);
+        store.compact();
+        int n = store.size();
+        byte[] health = new byte[n];
+        boolean[] needsCare = new boolean[n];
+        long[] sink = new long[1];
+        long mapNanos = time(() -> {
+            for (Plant plant : garden) {
+                Map<String, Object> map = plant.getStatus();
+                if ((Boolean) map.get("needsCare")) {
+                    sink[0] += (Integer) map.get("health");
+                }
+            }
+        });
+        long plantNanos = time(() -> {
+            for (Plant plant : garden) {
+                if (status.read(plant).needsCare()) {
+                    sink[0] += status.getHealth();
+                }
+            }
+        });
+        long storeNanos = time(() -> {
+            for (int id = 0; id < n; id++) {
+                if (status.read(store, id).needsCare()) {
+                    sink[0] += status.getHealth();
+                }
+            }
+        });
+        long bulkNanos = time(() -> {
+            store.readStatus(null, health, null, null, null, null, null, needsCare);
+            for (int id = 0; id < n; id++) {
+                if (needsCare[id]) {
+                    sink[0] += health[id];
+                }
+            }
+        });
+        report("Plant.getStatus() maps", mapNanos, plants, 1);
+        report("PlantStatus.read(Plant)", plantNanos, plants, 1);
+        report("PlantStatus.read(store)", storeNanos, plants, 1);
+        report("store.readStatus()", bulkNanos, plants, 1);
+
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean threads =
+                    (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+            if (threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled()) {
+                long before = threads.getCurrentThreadAllocatedBytes();
+                for (int id = 0; id < n; id++) {
+                    sink[0] += status.read(store, id).getHealth();
+                }
+                long bytes = threads.getCurrentThreadAllocatedBytes() - before;
+                System.out.printf("  %-24s %8d bytes over %d plants%n", "PlantStatus.read(store)", bytes, n);
+                check(bytes == 0, "Reading status into a reused PlantStatus allocated memory");
+
+                byte[] water = new byte[n];
+                byte[] sunlight = new byte[n];
+                byte[] species = new byte[n];
+                int[] stage = new int[n];
+                boolean[] alive = new boolean[n];
+                boolean[] thriving = new boolean[n];
+                before = threads.getCurrentThreadAllocatedBytes();
+                store.readStatus(species, health, water, sunlight, stage, alive, thriving, needsCare);
+                bytes = threads.getCurrentThreadAllocatedBytes() - before;
+                System.out.printf("  %-24s %8d bytes over %d plants%n", "store.readStatus()", bytes, n);
+                check(bytes == 0, "Bulk readStatus allocated memory");
+            }
+        }
+        System.out.println("  (checksum " + sink[0] + ")");
+        System.out.println();
+    }
+
+    /**
+     * CHECK 21: PlantEventRing with several producers and one drainer
+     */
+    private static void checkEventRing() {
+        printHeader("21. PlantEventRing (multi-producer ring buffer)");
+        int producers = 4;
+        int perProducer = 200_000;
+
+        // A ring large enough for everything: no event may be lost, each
+        // arrives once, and each producer's events arrive in its order
+        PlantEventRing big = new PlantEventRing(Integer.highestOneBit(producers * perProducer) << 1);
+        long[] seen = runRing(big, producers, perProducer, false);
+        check(big.getDropped() == 0, "Ring with room for every event dropped " + big.getDropped());
+        check(seen[0] == (long) producers * perProducer, "Ring delivered " + seen[0] + " events");
+        System.out.println("  ✓ " + producers + " producers, " + seen[0]
+                + " events: none lost, none repeated, each producer's in order");
+
+        // A small ring drained while the producers run: every event is
+        // either delivered, in order, or counted as dropped
+        PlantEventRing small = new PlantEventRing(4096);
+        long nanos = System.nanoTime();
+        seen = runRing(small, producers, perProducer, true);
+        nanos = System.nanoTime() - nanos;
+        check(seen[0] + small.getDropped() == (long) producers * perProducer,
+                "Delivered " + seen[0] + " + dropped " + small.getDropped() + " events");
+        System.out.printf("  ✓ Drained during recording from a 4096-slot ring: %d delivered in order,"
+                + " %d dropped and counted (%.1f ms)%n", seen[0], small.getDropped(), nanos / 1e6);
+
+        // A full ring drops new events, keeps the old ones and takes more after draining
+        PlantEventRing full = new PlantEventRing(8);
+        Plant plant = new Tomato();
+        for (int i = 0; i < 11; i++) {
+            full.onEvent(plant, PlantEventType.WATERED, i);
+        }
+        check(full.size() == 8 && full.getDropped() == 3, "Full ring: size " + full.size() + ", dropped "
+                + full.getDropped());
+        List<Integer> values = new ArrayList<>();
+        check(full.drain((p, type, value) -> values.add(value)) == 8, "Full ring drained wrong count");
+        check(values.equals(Arrays.asList(0, 1, 2, 3, 4, 5, 6, 7)), "Full ring kept " + values);
+        full.onEvent(plant, PlantEventType.BASKED, 42);
+        values.clear();
+        full.drain((p, type, value) -> values.add(type == PlantEventType.BASKED ? value : -1));
+        check(values.equals(Collections.singletonList(42)) && full.size() == 0, "Ring after draining: " + values);
+        System.out.println("  ✓ A full ring drops and counts new events, keeps the oldest, and recovers");
+        System.out.println();
+    }
+
+    /**
+     * Records perProducer events from each of several threads, the value
+     * counting up per producer, and drains them on this thread, checking
+     * the order of each producer's events
+     *
+     * @param concurrent Drain while the producers run, instead of after
+     * @return Number of events delivered
+     */
+    private static long[] runRing(PlantEventRing ring, int producers, int perProducer, boolean concurrent) {
+        Plant[] sources = new Plant[producers];
+        Map<Plant, Integer> producerOf = new IdentityHashMap<>();
+        for (int p = 0; p < producers; p++) {
+            sources[p] = new Sunflower();
+            producerOf.put(sources[p], p);
+        }
+        int[] last = new int[producers];
+        Arrays.fill(last, -1);
+        long[] delivered = new long[1];
+        PlantEventSink checker = (plant, type, value) -> {
+            int p = producerOf.get(plant);
+            check(type == PlantEventType.GREW, "Event of the wrong type: " + type);
+            check(value > last[p] && (ring.getDropped() > 0 || value == last[p] + 1),
+                    "Producer " + p + ": event " + value + " after " + last[p]);
+            last[p] = value;
+            delivered[0]++;
+        };
+
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            Plant source = sources[p];
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    ring.onEvent(source, PlantEventType.GREW, i);
+                    if (concurrent && (i & 1023) == 0) {
+                        Thread.yield(); // Give the drainer a turn on small machines
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        while (concurrent && threads.stream().anyMatch(Thread::isAlive)) {
+            if (ring.drain(checker) == 0) {
+                Thread.yield();
+            }
+        }
+        for (Thread thread : threads) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        ring.drain(checker);
+        check(ring.size() == 0, "Ring not empty after draining: " + ring.size());
+        return delivered;
+    }
+
+    /**
+     * CHECK 22: VirtualClock, ScaledClock and season detection on a game clock
+     */
+    private static void checkClocks() {
+        printHeader("22. Game clocks (virtual, scaled, seasons)");
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+        // A virtual clock stands still until slept or advanced, and never runs backwards
+        VirtualClock virtual = new VirtualClock(start);
+        check(virtual.nanoTime() == 0 && virtual.now().equals(start), "Fresh virtual clock at " + virtual.now());
+        long wall = System.nanoTime();
+        try {
+            virtual.sleep(Duration.ofHours(5));
+            virtual.sleepNanos(-1);
+        } catch (InterruptedException e) {
+            throw new AssertionError(e);
+        }
+        wall = System.nanoTime() - wall;
+        check(virtual.now().equals(start.plusHours(5)), "Virtual clock after a 5 h sleep: " + virtual.now());
+        check(wall < 1_000_000_000L, "Virtual sleep took " + wall / 1e6 + " ms of real time");
+        virtual.advance(Duration.ofDays(31));
+        check(virtual.nanoTime() == Duration.ofDays(31).plusHours(5).toNanos(),
+                "Virtual clock after advancing: " + virtual.nanoTime() + " ns");
+        boolean refused = false;
+        try {
+            virtual.advance(Duration.ofSeconds(-1));
+        } catch (IllegalArgumentException e) {
+            refused = true;
+        }
+        check(refused && virtual.now().equals(start.plusDays(31).plusHours(5)), "Virtual clock moved backwards");
+        System.out.println("  ✓ VirtualClock: sleeps return at once and move the clock, advance() moves it,"
+                + " negative durations are refused");
+
+        // A scaled clock over a virtual base: game time is base time times the speed,
+        // and a game sleep is a base sleep that much shorter
+        VirtualClock base = new VirtualClock(start);
+        base.advance(Duration.ofSeconds(7)); // The scaled clock starts counting from here
+        ScaledClock scaled = new ScaledClock(base, 60, start);
+        check(scaled.nanoTime() == 0 && scaled.now().equals(start), "Fresh scaled clock at " + scaled.now());
+        base.advance(Duration.ofSeconds(10));
+        check(scaled.now().equals(start.plusMinutes(10)), "10 base seconds at 60x: " + scaled.now());
+        try {
+            scaled.sleep(Duration.ofHours(1));
+        } catch (InterruptedException e) {
+            throw new AssertionError(e);
+        }
+        check(base.nanoTime() == Duration.ofSeconds(7 + 10 + 60).toNanos(),
+                "A 1 h game sleep at 60x slept " + (base.nanoTime() / 1e9 - 17) + " base seconds");
+        check(scaled.now().equals(start.plusMinutes(70)), "Scaled clock after sleeping: " + scaled.now());
+        for (double speed : new double[]{0, -1, Double.NaN, Double.POSITIVE_INFINITY}) {
+            refused = false;
+            try {
+                new ScaledClock(base, speed, start);
+            } catch (IllegalArgumentException e) {
+                refused = true;
+            }
+            check(refused, "ScaledClock took a speed of " + speed);
+        }
+
+        // Over the system clock a real sleep shows up scaled in game time
+        ScaledClock fast = new ScaledClock(GameClock.SYSTEM, 1000, start);
+        try {
+            Thread.sleep(20);
+        } catch (InterruptedException e) {
+            throw new AssertionError(e);
+        }
+        long gameMillis = fast.nanoTime() / 1_000_000;
+        check(gameMillis >= 20_000, "20 ms of real time at 1000x was " + gameMillis + " game ms");
+        System.out.println("  ✓ ScaledClock: game time and sleeps scale by the speed over a virtual base,"
+                + " 20 real ms at 1000x = " + gameMillis / 1000 + " game s");
+
+        // Seasons follow the game date as a scaled clock runs through a year,
+        // one game day per base second
+        VirtualClock yearBase = new VirtualClock(start);
+        SeasonDetector detector = new SeasonDetector(new ScaledClock(yearBase, 86_400, start));
+        Set<Season> seen = EnumSet.noneOf(Season.class);
+        int changes = 0;
+        Season previous = detector.getCurrentSeason();
+        for (int day = 0; day < 366; day++) {
+            LocalDate date = start.toLocalDate().plusDays(day);
+            Season season = detector.getCurrentSeason();
+            check(season == detector.getSeason(date), "Day " + day + " (" + date + "): " + season);
+            seen.add(season);
+            if (season != previous) {
+                changes++;
+                previous = season;
+            }
+            yearBase.advance(Duration.ofSeconds(1));
+        }
+        check(seen.size() == Season.values().length, "A year showed only " + seen);
+        check(detector.getSeason(LocalDate.of(2024, 7, 15)) == Season.EARLY_AUTUMN
+                && detector.getSeason(LocalDate.of(2024, 12, 31)) == Season.WINTER, "Month to season mapping");
+        System.out.println("  ✓ SeasonDetector on a 86400x clock: a year of game days in 366 base seconds, "
+                + seen.size() + " seasons, " + changes + " changes");
+        System.out.println();
+    }
+
+    /**
+     * CHECK 23: GrowthTicker catching up on a VirtualClock
+     */
+    private static void checkTicker() {
+        printHeader("23. GrowthTicker (catch-up and backlog cap)");
+        VirtualClock clock = new VirtualClock(LocalDateTime.of(2024, 4, 1, 12, 0));
+        long[] grown = new long[1];
+        GrowthTicker ticker = new GrowthTicker(clock, 10, 10, 40, () -> grown[0]++);
+        ticker.reset();
+
+        // On schedule: one tick per period, none early
+        clock.advance(Duration.ofMillis(99));
+        check(ticker.runDueTicks() == 0, "Tick ran before its period had passed");
+        for (int i = 0; i < 5; i++) {
+            clock.advance(Duration.ofMillis(100));
+            check(ticker.runDueTicks() == 1 && ticker.getBacklog() == 0, "On schedule, period " + i);
+        }
+        check(grown[0] == 5 && ticker.getDroppedTicks() == 0, "On schedule: " + grown[0] + " ticks");
+
+        // 3.4 s behind: 34 due, within the cap, run in batches of at most 10 and none lost
+        clock.advance(Duration.ofMillis(3_400));
+        List<Integer> batches = new ArrayList<>();
+        List<Long> backlogs = new ArrayList<>();
+        int ran;
+        while ((ran = ticker.runDueTicks()) > 0) {
+            batches.add(ran);
+            backlogs.add(ticker.getBacklog());
+        }
+        check(batches.equals(Arrays.asList(10, 10, 10, 4)), "Catch-up batches " + batches);
+        check(backlogs.equals(Arrays.asList(24L, 14L, 4L, 0L)), "Backlog after each batch " + backlogs);
+        check(grown[0] == 39 && ticker.getDroppedTicks() == 0, "After catching up: " + grown[0] + " ticks, "
+                + ticker.getDroppedTicks() + " dropped");
+        System.out.println("  ✓ 34 ticks behind: batches " + batches + ", nothing dropped");
+
+        // A long stall: only the newest 40 ticks are kept, the rest are counted as dropped
+        clock.advance(Duration.ofMinutes(10));
+        long due = 10 * 60 * 10;
+        batches.clear();
+        while ((ran = ticker.runDueTicks()) > 0) {
+            batches.add(ran);
+        }
+        check(batches.equals(Arrays.asList(10, 10, 10, 10)), "Stall batches " + batches);
+        check(ticker.getDroppedTicks() == due - 40, "Dropped " + ticker.getDroppedTicks() + " of " + due);
+        check(grown[0] == 79 && ticker.getTicksRun() == 79 && ticker.getBacklog() == 0,
+                "After the stall: " + grown[0] + " ticks, backlog " + ticker.getBacklog());
+
+        // Back on schedule after the stall, without drift
+        clock.advance(Duration.ofMillis(100));
+        check(ticker.runDueTicks() == 1, "Not back on schedule after the stall");
+        System.out.println("  ✓ 10 min stall: " + due + " ticks due, 40 run in " + batches.size()
+                + " batches, " + ticker.getDroppedTicks() + " dropped and counted");
+
+        boolean refused = false;
+        try {
+            new GrowthTicker(clock, 10, 10, 9, () -> { });
+        } catch (IllegalArgumentException e) {
+            refused = true;
+        }
+        check(refused, "A backlog cap below one batch was accepted");
+        System.out.println();
+    }
+
+    // The map Plant.getStatus() built before PlantStatus existed
+    private static Map<String, Object> legacyStatus(Plant plant) {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("name", plant.getName());
+        status.put("health", plant.getHealth());
+        status.put("waterLevel", plant.getWaterLevel());
+        status.put("sunlightLevel", plant.getSunlightLevel());
+        status.put("growthStage", plant.getGrowthStage());
+        status.put("isAlive", plant.isAlive());
+        status.put("isThriving", Plant.IS_THRIVING.test(plant));
+        status.put("needsCare", Plant.NEEDS_IMMEDIATE_CARE.test(plant));
+        return status;
+    }
+
+    // Ids of every living plant, ranked by health, water and id
+    private static int[] rankByFullSort(PlantStore store) {
+        long[] keys = new long[store.size()];
+        int n = 0;
+        for (int id = 0; id < store.size(); id++) {
+            if (store.isAlive(id)) {
+                keys[n++] = (long) (store.getHealth(id) * 101 + store.getWaterLevel(id)) << 32 | id;
+            }
+        }
+        Arrays.sort(keys, 0, n);
+        int[] ids = new int[n];
+        for (int i = 0; i < n; i++) {
+            ids[i] = (int) keys[i];
+        }
+        return ids;
+    }
+
+    private static void verifyRanking(EndangeredPlants view, String label) {
+        int[] expected = rankByFullSort(view.getStore());
+        expected = Arrays.copyOf(expected, Math.min(expected.length, view.getK()));
+        check(Arrays.equals(view.ids(), expected), label + ": top " + view.getK() + " differs from a full sort");
+        int pageSize = 7;
+        for (int page = 0; page * pageSize < expected.length; page += 3) {
+            int from = page * pageSize;
+            check(Arrays.equals(view.page(page, pageSize),
+                    Arrays.copyOfRange(expected, from, Math.min(expected.length, from + pageSize))),
+                    label + ": page " + page + " of top " + view.getK());
+        }
+        check(view.page(expected.length, 1).length == 0 || expected.length == 0, label + ": page past the end");
+    }
+
+    /**
+     * One step of a mixed workload: ticks, setters, care, compaction and new
+     * rows, in turn by step
+     */
+    private static void changeStore(PlantStore store, Random random, int step, TickKernel[] kernels) {
+        switch (step % 6) {
+            case 0:
+                if (random.nextInt(3) == 0) {
+                    store.setSeason(Season.values()[random.nextInt(Season.values().length)]);
+                }
+                store.tick(kernels[random.nextInt(kernels.length)]);
+                break;
+            case 1:
+                for (int i = 0; i < 500; i++) {
+                    int id = random.nextInt(store.size());
+                    store.setHealth(id, random.nextInt(101));
+                    store.setWaterLevel(id, random.nextInt(101));
+                    store.setSunlightLevel(id, random.nextInt(101));
+                }
+                break;
+            case 2:
+                for (int i = 0; i < 500; i++) {
+                    store.water(random.nextInt(store.size()));
+                    store.bask(random.nextInt(store.size()));
+                }
+                break;
+            case 3:
+                store.waterAll();
+                store.baskAll();
+                break;
+            case 4:
+                // Setters and new rows right after a compacting tick
+                store.compact();
+                store.tick();
+                for (int i = 0; i < 200; i++) {
+                    store.setHealth(random.nextInt(store.size()), random.nextInt(101));
+                }
+                store.add(random.nextInt(5), 50, 50, 50, 1, true);
+                break;
+            default:
+                for (int i = 0; i < 100; i++) {
+                    store.add(random.nextInt(5), random.nextInt(101), random.nextInt(101),
+                            random.nextInt(101), 1, random.nextBoolean());
+                }
+        }
+    }
+
+    /**
+     * Every tick kernel for changeStore(), including one that does not
+     * report the rows it changes
+     */
+    private static TickKernel[] mixedKernels() {
+        TickKernel unreported = (store, from, to) -> store.tickRange(from, to);
+        return new TickKernel[] { TickKernel.SCALAR, TickKernel.best(), new ParallelTickKernel(),
+                TransitionTable.get().kernel(TickKernel.SCALAR), unreported };
+    }
+
+    /**
+     * Ticks the store once with the kernel and fails loudly unless the
+     * change bits it reports cover exactly the rows that changed, or at
+     * least those for a kernel that does not report them
+     */
+    private static void checkChangeBits(PlantStore store, TickKernel kernel) {
+        byte[] health = store.healthColumn().clone();
+        byte[] water = store.waterColumn().clone();
+        byte[] sun = store.sunlightColumn().clone();
+        int[] stage = store.growthStageColumn().clone();
+        long[] alive = store.aliveBits().clone();
+        PlantAttribute[] attributes = { PlantAttribute.HEALTH, PlantAttribute.WATER_LEVEL,
+                PlantAttribute.SUNLIGHT_LEVEL, PlantAttribute.GROWTH_STAGE, PlantAttribute.ALIVE };
+        PlantStoreListener checker = new PlantStoreListener() {
+            @Override
+            public void rowAdded(int id) {
+            }
+
+            @Override
+            public void rowChanged(int id) {
+            }
+
+            @Override
+            public void rowsChanged(int fromSlot, int toSlot) {
+                for (int w = 0; w << 6 < toSlot; w++) {
+                    long[] expected = new long[attributes.length];
+                    for (int j = 0; j < 64 && (w << 6) + j < toSlot; j++) {
+                        int i = (w << 6) + j;
+                        expected[0] |= (health[i] != store.healthColumn()[i] ? 1L : 0) << j;
+                        expected[1] |= (water[i] != store.waterColumn()[i] ? 1L : 0) << j;
+                        expected[2] |= (sun[i] != store.sunlightColumn()[i] ? 1L : 0) << j;
+                        expected[3] |= (stage[i] != store.growthStageColumn()[i] ? 1L : 0) << j;
+                    }
+                    expected[4] = alive[w] & ~store.aliveBits()[w];
+                    for (int k = 0; k < attributes.length; k++) {
+                        long reported = store.changedBits(attributes[k], w);
+                        check(kernel.reportsChanges() ? reported == expected[k]
+                                        : (reported & expected[k]) == expected[k],
+                                attributes[k] + " changes of rows " + (w << 6) + "+: reported "
+                                        + Long.toHexString(reported) + ", expected " + Long.toHexString(expected[k]));
+                    }
+                }
+            }
+        };
+        store.addListener(checker);
+        store.tick(kernel);
+        store.removeListener(checker);
+    }
+
+    // Fails loudly unless every id sits in exactly the bucket of its current value
+    private static void verifyIndex(SecondaryIndex index) {
+        PlantStore store = index.getStore();
+        PlantAttribute attribute = index.getAttribute();
+        int[] seen = new int[store.size()];
+        for (int v = 0; v <= attribute.getMaxValue(); v++) {
+            for (int id : index.ids(v, v)) {
+                if (attribute.valueOf(store, id) != v || seen[id]++ != 0) {
+                    throw new IllegalStateException(attribute + " index: plant " + id + " misfiled under " + v);
+                }
+            }
+        }
+        if (index.count(0, attribute.getMaxValue()) != store.size()) {
+            throw new IllegalStateException(attribute + " index: holds " + index.count(0, attribute.getMaxValue())
+                    + " plants, store has " + store.size());
+        }
+    }
+
+    // ========== Helpers ==========
+
+    /**
+     * Creates a garden with random species and vitals
+     */
+    static List<Plant> randomGarden(int plants) {
+        Random random = new Random(SEED);
+        List<Plant> garden = new ArrayList<>(plants);
+        for (int i = 0; i < plants; i++) {
+            Plant plant = PlantFactory.createPlant(String.valueOf(random.nextInt(5) + 1));
+            plant.setHealth(random.nextInt(101));
+            plant.setWaterLevel(random.nextInt(101));
+            plant.setSunlightLevel(random.nextInt(101));
+            garden.add(plant);
+        }
+        return garden;
+    }
+
+    static PlantStore toStore(List<Plant> garden) {
+        PlantStore store = new PlantStore(garden.size());
+        garden.forEach(store::add);
+        return store;
+    }
+
+    /**
+     * Fails loudly if the store and the object model disagree on any plant
+     */
+    static void verify(List<Plant> garden, PlantStore store, String label) {
+        verifyQuietly(garden, store, label);
+        System.out.println("  ✓ " + label + " matches the object model");
+    }
+
+    // verify() without the success line, for checks run in a loop
+    private static void verifyQuietly(List<Plant> garden, PlantStore store, String label) {
+        for (int id = 0; id < garden.size(); id++) {
+            Plant plant = garden.get(id);
+            if (plant.getHealth() != store.getHealth(id)
+                    || plant.getWaterLevel() != store.getWaterLevel(id)
+                    || plant.getSunlightLevel() != store.getSunlightLevel(id)
+                    || plant.getGrowthStage() != store.getGrowthStage(id)
+                    || plant.isAlive() != store.isAlive(id)) {
+                throw new IllegalStateException(label + ": plant " + id + " differs, expected " + plant);
+            }
+        }
+    }
+
+    /**
+     * Fails loudly if two stores built from the same garden have diverged
+     */
+    static void verify(List<Plant> garden, PlantStore expected, PlantStore actual, String label) {
+        for (int id = 0; id < garden.size(); id++) {
+            if (expected.getHealth(id) != actual.getHealth(id)
+                    || expected.getWaterLevel(id) != actual.getWaterLevel(id)
+                    || expected.getSunlightLevel(id) != actual.getSunlightLevel(id)
+                    || expected.getGrowthStage(id) != actual.getGrowthStage(id)
+                    || expected.isAlive(id) != actual.isAlive(id)) {
+                throw new IllegalStateException(label + ": plant " + id + " differs from the scalar kernel");
+            }
+        }
+        System.out.println("  ✓ " + label + " matches the scalar kernel");
+    }
+
+    /**
+     * Copies the state of one store into another built from the same garden
+     */
+    static void restore(PlantStore target, PlantStore source) {
+        target.restoreFrom(source);
+    }
+
+    static long time(Runnable work) {
+        long start = System.nanoTime();
+        work.run();
+        return System.nanoTime() - start;
+    }
+
+    static void report(String label, long nanos, long plants, long ticks) {
+        System.out.printf("  %-24s %8.1f ms  (%.1f M plant-ticks/s)%n",
+                label, nanos / 1e6, plants * ticks * 1e3 / nanos);
+    }
+
+    private static void printHeader(String title) {
+        System.out.println("-".repeat(60));
+        System.out.println(title);
+        System.out.println("-".repeat(60));
+    }
+}
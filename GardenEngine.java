@@ -0,0 +1,144 @@
+import java.util.*;
+
+/**
+ * GardenEngine - Headless simulation engine for large gardens
+ * Owns a collection of plants and advances all of them once per tick using
+ * Plant.tick(), so there is no console output and no pausing between ticks.
+ * A dead plant never changes again, so each tick drops newly dead plants
+ * from the array of active plants and later ticks skip them entirely
+ */
+public class GardenEngine {
+
+    private final List<Plant> plants;
+    private Plant[] active;
+    private int activeCount;
+    private long tickCount;
+    private long totalTickNanos;
+    private long lastTickNanos;
+    private int aliveCount;
+
+    /**
+     * Creates an empty garden
+     */
+    public GardenEngine() {
+        this(16);
+    }
+
+    /**
+     * Creates an empty garden sized for the expected number of plants
+     *
+     * @param expectedPlants Initial capacity of the plant list
+     */
+    public GardenEngine(int expectedPlants) {
+        this.plants = new ArrayList<>(expectedPlants);
+        this.active = new Plant[Math.max(16, expectedPlants)];
+    }
+
+    /**
+     * Adds a plant to the garden
+     *
+     * @param plant The plant to simulate
+     */
+    public void addPlant(Plant plant) {
+        plants.add(Objects.requireNonNull(plant, "plant"));
+        if (plant.isAlive()) {
+            if (activeCount == active.length) {
+                active = Arrays.copyOf(active, activeCount + (activeCount >> 1));
+            }
+            active[activeCount++] = plant;
+            aliveCount++;
+        }
+    }
+
+    /**
+     * Adds several plants to the garden
+     *
+     * @param newPlants The plants to simulate
+     */
+    public void addPlants(Collection<? extends Plant> newPlants) {
+        newPlants.forEach(this::addPlant);
+    }
+
+    /**
+     * Advances every living plant by one growth cycle
+     *
+     * @return Number of plants still alive after the tick
+     */
+    public int tick() {
+        long start = System.nanoTime();
+        Plant[] active = this.active;
+        int alive = 0;
+        for (int i = 0, n = activeCount; i < n; i++) {
+            Plant plant = active[i];
+            plant.tick();
+            if (plant.isAlive()) {
+                active[alive++] = plant;
+            }
+        }
+        Arrays.fill(active, alive, activeCount, null);
+        activeCount = alive;
+        aliveCount = alive;
+        lastTickNanos = System.nanoTime() - start;
+        totalTickNanos += lastTickNanos;
+        tickCount++;
+        return alive;
+    }
+
+    /**
+     * Runs a number of ticks back to back at full speed
+     *
+     * @param ticks Number of ticks to run
+     * @return Number of plants still alive afterwards
+     */
+    public int run(long ticks) {
+        for (long t = 0; t < ticks; t++) {
+            tick();
+        }
+        return aliveCount;
+    }
+
+    /**
+     * Clears the timing statistics, keeping the plants as they are
+     */
+    public void resetStats() {
+        tickCount = 0;
+        totalTickNanos = 0;
+        lastTickNanos = 0;
+    }
+
+    // ========== Getters ==========
+
+    public List<Plant> getPlants() {
+        return Collections.unmodifiableList(plants);
+    }
+
+    public int size() {
+        return plants.size();
+    }
+
+    public int getAliveCount() {
+        return aliveCount;
+    }
+
+    public long getTickCount() {
+        return tickCount;
+    }
+
+    public long getLastTickNanos() {
+        return lastTickNanos;
+    }
+
+    /**
+     * @return Average ticks per second since the last reset
+     */
+    public double getTicksPerSecond() {
+        return totalTickNanos == 0 ? 0.0 : tickCount * 1_000_000_000.0 / totalTickNanos;
+    }
+
+    /**
+     * @return Average plant updates per second since the last reset
+     */
+    public double getPlantTicksPerSecond() {
+        return getTicksPerSecond() * plants.size();
+    }
+}
@@ -0,0 +1,239 @@
+import java.util.*;
+
+/**
+ * GardenQuery - Small query language over plant attributes
+ * A query is a condition on species, health, water, sunlight, stage and
+ * alive, parsed into a PlantCondition that QueryPlanner can run against a
+ * PlantStore.
+ *
+ * Syntax:
+ *   species = tomato and water < 20 and stage >= 5
+ *   not alive or (health <= 30 && sunlight != 0)
+ *
+ * - Comparisons: attribute op value, with op one of < <= > >= = == != <>
+ * - Attributes: health, water, sunlight, stage, species, alive (or the
+ *   field names from Plant.getStatus(), e.g. waterLevel)
+ * - species takes a name (tomato, Lycopersicum, 'Lycopersicum (Tomato)')
+ *   and only = or !=; alive takes true or false, and "alive" alone means
+ *   alive = true
+ * - and/&&, or/||, not/! and parentheses, with the usual precedence
+ */
+public final class GardenQuery {
+
+    private final String source;
+    private final PlantCondition condition;
+
+    private GardenQuery(String source, PlantCondition condition) {
+        this.source = source;
+        this.condition = condition;
+    }
+
+    /**
+     * Parses a query
+     *
+     * @throws IllegalArgumentException If the query is not valid, with the position of the problem
+     */
+    public static GardenQuery parse(String query) {
+        Parser parser = new Parser(Objects.requireNonNull(query, "query"));
+        PlantCondition condition = parser.parseOr();
+        if (parser.peek() != null) {
+            throw parser.error("Unexpected '" + parser.peek() + "'");
+        }
+        return new GardenQuery(query.trim(), condition);
+    }
+
+    /**
+     * Wraps a condition built in code
+     */
+    public static GardenQuery of(PlantCondition condition) {
+        return new GardenQuery(condition.toString(), Objects.requireNonNull(condition, "condition"));
+    }
+
+    public PlantCondition getCondition() {
+        return condition;
+    }
+
+    @Override
+    public String toString() {
+        return source;
+    }
+
+    // ========== Parser ==========
+
+    /**
+     * Recursive-descent parser, one method per precedence level
+     */
+    private static final class Parser {
+
+        private final String text;
+        private final List<String> tokens = new ArrayList<>();
+        private final List<Integer> positions = new ArrayList<>();
+        private int next;
+
+        Parser(String text) {
+            this.text = text;
+            tokenize();
+        }
+
+        private void tokenize() {
+            int i = 0;
+            while (i < text.length()) {
+                char c = text.charAt(i);
+                int begin = i;
+                if (Character.isWhitespace(c)) {
+                    i++;
+                    continue;
+                }
+                if (Character.isLetterOrDigit(c) || c == '-' || c == '_') {
+                    i++;
+                    while (i < text.length() && (Character.isLetterOrDigit(text.charAt(i)) || text.charAt(i) == '_')) {
+                        i++;
+                    }
+                } else if (c == '\'' || c == '"') {
+                    int close = text.indexOf(c, i + 1);
+                    if (close < 0) {
+                        throw new IllegalArgumentException("Unclosed quote at position " + i + ": " + text);
+                    }
+                    i = close + 1;
+                } else if (text.startsWith("<=", i) || text.startsWith(">=", i) || text.startsWith("==", i)
+                        || text.startsWith("!=", i) || text.startsWith("<>", i) || text.startsWith("&&", i)
+                        || text.startsWith("||", i)) {
+                    i += 2;
+                } else if ("<>=!()".indexOf(c) >= 0) {
+                    i++;
+                } else {
+                    throw new IllegalArgumentException("Unexpected '" + c + "' at position " + i + ": " + text);
+                }
+                tokens.add(text.substring(begin, i));
+                positions.add(begin);
+            }
+        }
+
+        String peek() {
+            return next < tokens.size() ? tokens.get(next) : null;
+        }
+
+        private boolean accept(String... choices) {
+            String token = peek();
+            for (String choice : choices) {
+                if (choice.equalsIgnoreCase(token)) {
+                    next++;
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private String take(String expected) {
+            String token = peek();
+            if (token == null) {
+                throw error("Expected " + expected + " but the query ended");
+            }
+            next++;
+            return token;
+        }
+
+        IllegalArgumentException error(String message) {
+            int position = next < positions.size() ? positions.get(next) : text.length();
+            return new IllegalArgumentException(message + " at position " + position + ": " + text);
+        }
+
+        PlantCondition parseOr() {
+            PlantCondition condition = parseAnd();
+            while (accept("or", "||")) {
+                condition = condition.or(parseAnd());
+            }
+            return condition;
+        }
+
+        private PlantCondition parseAnd() {
+            PlantCondition condition = parseUnary();
+            while (accept("and", "&&")) {
+                condition = condition.and(parseUnary());
+            }
+            return condition;
+        }
+
+        private PlantCondition parseUnary() {
+            if (accept("not", "!")) {
+                return parseUnary().negate();
+            }
+            if (accept("(")) {
+                PlantCondition condition = parseOr();
+                if (!accept(")")) {
+                    throw error("Expected ')'");
+                }
+                return condition;
+            }
+            return parseComparison();
+        }
+
+        private PlantCondition parseComparison() {
+            String name = take("an attribute");
+            PlantAttribute attribute = PlantAttribute.forName(name);
+            if (attribute == null) {
+                next--;
+                throw error("Unknown attribute '" + name + "'");
+            }
+            PlantCondition.Operator operator = parseOperator();
+            if (operator == null) {
+                if (attribute == PlantAttribute.ALIVE) {
+                    return PlantCondition.equalTo(attribute, 1);
+                }
+                throw error("Expected a comparison after '" + name + "'");
+            }
+            int value = parseValue(attribute, operator);
+            return PlantCondition.where(attribute, operator, value);
+        }
+
+        private PlantCondition.Operator parseOperator() {
+            if (accept("<")) {
+                return PlantCondition.Operator.LESS;
+            } else if (accept("<=")) {
+                return PlantCondition.Operator.LESS_OR_EQUAL;
+            } else if (accept(">")) {
+                return PlantCondition.Operator.GREATER;
+            } else if (accept(">=")) {
+                return PlantCondition.Operator.GREATER_OR_EQUAL;
+            } else if (accept("=", "==")) {
+                return PlantCondition.Operator.EQUAL;
+            } else if (accept("!=", "<>")) {
+                return PlantCondition.Operator.NOT_EQUAL;
+            }
+            return null;
+        }
+
+        private int parseValue(PlantAttribute attribute, PlantCondition.Operator operator) {
+            String token = take("a value");
+            boolean equality = operator == PlantCondition.Operator.EQUAL
+                    || operator == PlantCondition.Operator.NOT_EQUAL;
+            if (attribute == PlantAttribute.SPECIES) {
+                SpeciesProfile species = SpeciesProfile.forName(unquote(token));
+                if (species == null) {
+                    next--;
+                    throw error("Unknown species '" + unquote(token) + "'");
+                }
+                if (!equality) {
+                    throw error("species can only be compared with = or !=");
+                }
+                return species.getId();
+            }
+            if (attribute == PlantAttribute.ALIVE) {
+                if (token.equalsIgnoreCase("true") || token.equalsIgnoreCase("false")) {
+                    return token.equalsIgnoreCase("true") ? 1 : 0;
+                }
+            }
+            try {
+                return Integer.parseInt(token);
+            } catch (NumberFormatException e) {
+                next--;
+                throw error("Expected a number for " + attribute.getShortName() + " but got '" + token + "'");
+            }
+        }
+
+        private static String unquote(String token) {
+            char first = token.charAt(0);
+            return first == '\'' || first == '"' ? token.substring(1, token.length() - 1) : token;
+        }
+    }
+}
@@ -0,0 +1,231 @@
+import java.util.*;
+
+/**
+ * GrowthTicker - Runs a growth tick at a fixed rate on its own thread
+ * Tick n is due at start + n * period, so late wakeups never make the
+ * schedule drift. A wakeup that finds several ticks due runs them back to
+ * back, at most maxCatchUpTicks at a time, and the thread goes on with the
+ * next batch without sleeping. The bound keeps each batch short enough for
+ * player actions to get the plant's lock in between.
+ * At most maxBacklogTicks stay due: after a long stall (a suspended
+ * laptop, a debugger) the older ticks are dropped and counted, so the
+ * thread never spends minutes catching up. getBacklog() shows how far
+ * behind it is and getDroppedTicks() how much game time was given up.
+ *
+ * Usage:
+ * GrowthTicker ticker = new GrowthTicker(GameClock.SYSTEM, 2.0, 10, plant::grow);
+ * ticker.start();
+ * ...
+ * ticker.stop();
+ */
+public class GrowthTicker {
+
+    private final GameClock clock;
+    private final Runnable tick;
+    private final long periodNanos;
+    private final int maxCatchUpTicks;
+    private final int maxBacklogTicks;
+
+    private Thread thread;
+    private volatile boolean running;
+    private long startNanos;
+
+    // Metrics, written by the ticker thread only
+    private volatile long scheduledTicks;
+    private volatile long ticksRun;
+    private volatile long backlog;
+    private volatile long droppedTicks;
+    private volatile long lastTickNanos;
+    private volatile long maxTickNanos;
+    private volatile long totalTickNanos;
+
+    /**
+     * Keeps at most three batches of ticks due
+     *
+     * @param clock           Clock that drives the schedule
+     * @param ticksPerSecond  Ticks per second of clock time
+     * @param maxCatchUpTicks Most ticks one wakeup may run to catch up
+     * @param tick            Work done each tick, for example plant::grow
+     */
+    public GrowthTicker(GameClock clock, double ticksPerSecond, int maxCatchUpTicks, Runnable tick) {
+        this(clock, ticksPerSecond, maxCatchUpTicks, 3 * maxCatchUpTicks, tick);
+    }
+
+    /**
+     * @param clock           Clock that drives the schedule
+     * @param ticksPerSecond  Ticks per second of clock time
+     * @param maxCatchUpTicks Most ticks one wakeup may run to catch up
+     * @param maxBacklogTicks Most ticks kept due; older ones are dropped
+     * @param tick            Work done each tick, for example plant::grow
+     */
+    public GrowthTicker(GameClock clock, double ticksPerSecond, int maxCatchUpTicks, int maxBacklogTicks,
+                        Runnable tick) {
+        if (!(ticksPerSecond > 0) || Double.isInfinite(ticksPerSecond)) {
+            throw new IllegalArgumentException("ticksPerSecond must be positive and finite: " + ticksPerSecond);
+        }
+        if (maxCatchUpTicks < 1) {
+            throw new IllegalArgumentException("maxCatchUpTicks must be at least 1: " + maxCatchUpTicks);
+        }
+        if (maxBacklogTicks < maxCatchUpTicks) {
+            throw new IllegalArgumentException("maxBacklogTicks must be at least maxCatchUpTicks: "
+                    + maxBacklogTicks);
+        }
+        this.clock = Objects.requireNonNull(clock, "clock");
+        this.tick = Objects.requireNonNull(tick, "tick");
+        this.periodNanos = Math.max(1, Math.round(1e9 / ticksPerSecond));
+        this.maxCatchUpTicks = maxCatchUpTicks;
+        this.maxBacklogTicks = maxBacklogTicks;
+    }
+
+    /**
+     * Starts ticking on a daemon thread; the first tick is due one period from now.
+     * The thread waits with clock.sleepNanos(), so the clock must really
+     * wait: a VirtualClock only moves forward and the ticks would run
+     * without pause. Drive a virtual clock with runDueTicks() instead
+     */
+    public synchronized void start() {
+        if (running) {
+            throw new IllegalStateException("GrowthTicker is already running");
+        }
+        reset();
+        running = true;
+        thread = new Thread(this::loop, "growth-ticker");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stops ticking and waits for a tick in progress to finish
+     */
+    public synchronized void stop() {
+        running = false;
+        if (thread == null) {
+            return;
+        }
+        thread.interrupt();
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        thread = null;
+    }
+
+    /**
+     * Restarts the schedule at the current clock time, for callers that
+     * drive the ticker with runDueTicks() instead of start()
+     */
+    public void reset() {
+        startNanos = clock.nanoTime();
+        scheduledTicks = 0;
+        ticksRun = 0;
+        backlog = 0;
+        droppedTicks = 0;
+        lastTickNanos = 0;
+        maxTickNanos = 0;
+        totalTickNanos = 0;
+    }
+
+    private void loop() {
+        while (running) {
+            runDueTicks();
+            if (backlog > 0) {
+                // Next batch at once, after others had a turn; the backlog
+                // cap bounds how many batches run this way
+                Thread.yield();
+                continue;
+            }
+            long wait = startNanos + (scheduledTicks + 1) * periodNanos - clock.nanoTime();
+            try {
+                clock.sleepNanos(wait);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Runs the oldest ticks that are due by now, at most maxCatchUpTicks of
+     * them. Due ticks beyond that bound stay due for the next call, up to
+     * maxBacklogTicks of them; any older ones are dropped first
+     *
+     * @return Number of ticks run
+     */
+    public int runDueTicks() {
+        long due = dueTicks();
+        if (due <= 0) {
+            backlog = 0;
+            return 0;
+        }
+        if (due > maxBacklogTicks) {
+            long dropped = due - maxBacklogTicks;
+            scheduledTicks += dropped; // Skipped, never run
+            droppedTicks += dropped;
+            due = maxBacklogTicks;
+        }
+        int batch = (int) Math.min(due, maxCatchUpTicks);
+        backlog = due;
+
+        int ran = 0;
+        while (ran < batch) {
+            long begin = System.nanoTime();
+            tick.run();
+            long took = System.nanoTime() - begin;
+            lastTickNanos = took;
+            maxTickNanos = Math.max(maxTickNanos, took);
+            totalTickNanos += took;
+            ticksRun++;
+            scheduledTicks++;
+            backlog = due - ++ran;
+        }
+        // Includes ticks that fell due while this batch ran
+        backlog = Math.max(0, Math.min(dueTicks(), maxBacklogTicks));
+        return ran;
+    }
+
+    private long dueTicks() {
+        return (clock.nanoTime() - startNanos) / periodNanos - scheduledTicks;
+    }
+
+    // ========== Metrics ==========
+
+    public long getPeriodNanos() {
+        return periodNanos;
+    }
+
+    public long getTicksRun() {
+        return ticksRun;
+    }
+
+    /**
+     * @return Ticks that are due but not yet run, as of the last batch
+     */
+    public long getBacklog() {
+        return backlog;
+    }
+
+    /**
+     * @return Ticks skipped because the backlog was full, each one game
+     * time the plant did not grow
+     */
+    public long getDroppedTicks() {
+        return droppedTicks;
+    }
+
+    public long getLastTickNanos() {
+        return lastTickNanos;
+    }
+
+    public long getMaxTickNanos() {
+        return maxTickNanos;
+    }
+
+    public double getAverageTickNanos() {
+        long ticks = ticksRun;
+        return ticks == 0 ? 0 : (double) totalTickNanos / ticks;
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+}
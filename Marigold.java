@@ -5,7 +5,7 @@
 public class Marigold extends Plant {
 
     public Marigold() {
-        super("Calendula (Marigold)");
+        super(SpeciesProfile.MARIGOLD);
     }
 
     /**
@@ -15,8 +15,8 @@ public class Marigold extends Plant {
     @Override
     public void water() {
         int currentWater = this.getWaterLevel();
-        this.setWaterLevel(currentWater + 15); // Less water needed
-        System.out.println("You give the " + this.getName() + " a little water. Water level: " + this.getWaterLevel());
+        this.setWaterLevel(currentWater + getProfile().getWaterAmount());
+        emit(PlantEventType.WATERED, this.getWaterLevel());
     }
 
     /**
@@ -26,8 +26,8 @@ public class Marigold extends Plant {
     @Override
     public void bask() {
         int currentSunlight = this.getSunlightLevel();
-        this.setSunlightLevel(currentSunlight + 30); // More sunlight
-        System.out.println("Your " + this.getName() + " basks in the sun! Sunlight level: " + this.getSunlightLevel());
+        this.setSunlightLevel(currentSunlight + getProfile().getSunlightAmount());
+        emit(PlantEventType.BASKED, this.getSunlightLevel());
     }
 
     /**
@@ -35,9 +35,6 @@ public class Marigold extends Plant {
      */
     @Override
     public String harvestProduct() {
-        if (this.getGrowthStage() < 4) {
-            return "Not ready yet! Plant is only at stage " + this.getGrowthStage();
-        }
-        return "Beautiful marigold seeds collected! You got 50 seeds.";
+        return getProfile().harvest(this.getGrowthStage());
     }
 }
@@ -0,0 +1,269 @@
+import java.nio.ByteBuffer;
+import java.util.*;
+
+/**
+ * OffHeapPlantStore - Plant state kept outside the Java heap
+ * Rows live in direct buffers owned by a PlantArena, so huge gardens add no
+ * objects for the GC to trace and are freed together when the arena closes.
+ * Accessors mirror Plant's getters/setters, including the 0-100 clamping.
+ * Each access registers with the arena (PlantArena.enter()), so closing the
+ * arena while another thread reads the store makes that read fail cleanly
+ *
+ * Row layout (8 bytes per plant):
+ * [0] health  [1] water  [2] sunlight  [3] alive bit (0x80) | species id
+ * [4-7] growth stage
+ */
+public class OffHeapPlantStore {
+
+    private static final int ROW_BYTES = 8;
+    private static final int HEALTH = 0;
+    private static final int WATER = 1;
+    private static final int SUNLIGHT = 2;
+    private static final int FLAGS = 3;
+    private static final int STAGE = 4;
+    private static final int ALIVE_FLAG = 0x80;
+    private static final int SPECIES_MASK = 0x7F;
+
+    // A direct buffer holds at most 2 GB, so rows are split into chunks
+    private static final int CHUNK_SHIFT = 24;
+    private static final int CHUNK_ROWS = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_ROWS - 1;
+
+    private final PlantArena arena;
+    private final ByteBuffer[] chunks;
+    private final long capacity;
+    private long size;
+    private long tickCount;
+
+    /**
+     * Creates an empty off-heap store
+     *
+     * @param arena    Arena that owns (and later frees) the memory
+     * @param capacity Maximum number of plants
+     */
+    public OffHeapPlantStore(PlantArena arena, long capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("capacity must not be negative: " + capacity);
+        }
+        this.arena = Objects.requireNonNull(arena, "arena");
+        this.capacity = capacity;
+        int chunkCount = (int) ((capacity + CHUNK_MASK) >>> CHUNK_SHIFT);
+        this.chunks = new ByteBuffer[chunkCount];
+        for (int c = 0; c < chunkCount; c++) {
+            long rows = Math.min(CHUNK_ROWS, capacity - ((long) c << CHUNK_SHIFT));
+            chunks[c] = arena.allocate((int) rows * ROW_BYTES);
+        }
+    }
+
+    /**
+     * Copies the current state of a plant object into the store
+     *
+     * @return The id of the new row
+     */
+    public long add(Plant plant) {
+        return add(PlantStore.speciesOf(plant), plant.getHealth(), plant.getWaterLevel(),
+                plant.getSunlightLevel(), plant.getGrowthStage(), plant.isAlive());
+    }
+
+    /**
+     * Adds a plant row
+     *
+     * @return The id of the new row
+     */
+    public long add(int speciesId, int health, int water, int sunlight, int stage, boolean isAlive) {
+        arena.enter();
+        try {
+            if (size == capacity) {
+                throw new IllegalStateException("OffHeapPlantStore is full (capacity " + capacity + ")");
+            }
+            long id = size++;
+            ByteBuffer chunk = chunk(id);
+            int row = offset(id);
+            chunk.put(row + HEALTH, (byte) clamp(health));
+            chunk.put(row + WATER, (byte) clamp(water));
+            chunk.put(row + SUNLIGHT, (byte) clamp(sunlight));
+            chunk.put(row + FLAGS, (byte) ((speciesId & SPECIES_MASK) | (isAlive ? ALIVE_FLAG : 0)));
+            chunk.putInt(row + STAGE, stage);
+            return id;
+        } finally {
+            arena.exit();
+        }
+    }
+
+    /**
+     * Advances every plant by one growth cycle, same rules as Plant.tick()
+     * with no season set
+     */
+    public void tick() {
+        arena.enter();
+        try {
+            for (int c = 0; c < chunks.length; c++) {
+                long first = (long) c << CHUNK_SHIFT;
+                int rows = (int) Math.max(0, Math.min(CHUNK_ROWS, size - first));
+                tickChunk(chunks[c], rows);
+            }
+        } finally {
+            arena.exit();
+        }
+        tickCount++;
+    }
+
+    private static void tickChunk(ByteBuffer chunk, int rows) {
+        for (int row = 0, end = rows * ROW_BYTES; row < end; row += ROW_BYTES) {
+            int flags = chunk.get(row + FLAGS);
+            if ((flags & ALIVE_FLAG) == 0) {
+                continue;
+            }
+            int h = chunk.get(row + HEALTH);
+            int w = chunk.get(row + WATER);
+            int s = chunk.get(row + SUNLIGHT);
+
+            // Critical needs: -10 for each level below 20, dies at 0
+            h -= (((w - 20) >>> 31) + ((s - 20) >>> 31)) * 10;
+            if (h <= 0) {
+                h = 0;
+                chunk.put(row + FLAGS, (byte) (flags & SPECIES_MASK));
+            }
+
+            // Resource decay
+            w = Math.max(0, w - 5);
+            s = Math.max(0, s - 3);
+
+            // CAN_GROW
+            if (w > 30 && s > 30 && h > 50) {
+                chunk.putInt(row + STAGE, chunk.getInt(row + STAGE) + 1);
+            }
+
+            // UPDATE_HEALTH_STATUS
+            chunk.put(row + HEALTH, (byte) Math.min(100, h + ((w >> 1) + s / 3) / 10));
+            chunk.put(row + WATER, (byte) w);
+            chunk.put(row + SUNLIGHT, (byte) s);
+        }
+    }
+
+    private static int clamp(int value) {
+        return Math.min(100, Math.max(0, value));
+    }
+
+    private ByteBuffer chunk(long id) {
+        return chunks[(int) (id >>> CHUNK_SHIFT)];
+    }
+
+    private static int offset(long id) {
+        return ((int) id & CHUNK_MASK) * ROW_BYTES;
+    }
+
+    // Callers hold an arena access (enter/exit) around the row's use
+    private int row(long id) {
+        Objects.checkIndex(id, size);
+        return offset(id);
+    }
+
+    // ========== Row accessors (same clamping as Plant) ==========
+
+    public long size() {
+        return size;
+    }
+
+    public long getCapacity() {
+        return capacity;
+    }
+
+    public long getTickCount() {
+        return tickCount;
+    }
+
+    public PlantArena getArena() {
+        return arena;
+    }
+
+    public int getSpecies(long id) {
+        arena.enter();
+        try {
+            int row = row(id);
+            return chunk(id).get(row + FLAGS) & SPECIES_MASK;
+        } finally {
+            arena.exit();
+        }
+    }
+
+    public int getHealth(long id) {
+        arena.enter();
+        try {
+            int row = row(id);
+            return chunk(id).get(row + HEALTH);
+        } finally {
+            arena.exit();
+        }
+    }
+
+    public void setHealth(long id, int health) {
+        arena.enter();
+        try {
+            int row = row(id);
+            chunk(id).put(row + HEALTH, (byte) clamp(health));
+        } finally {
+            arena.exit();
+        }
+    }
+
+    public int getWaterLevel(long id) {
+        arena.enter();
+        try {
+            int row = row(id);
+            return chunk(id).get(row + WATER);
+        } finally {
+            arena.exit();
+        }
+    }
+
+    public void setWaterLevel(long id, int waterLevel) {
+        arena.enter();
+        try {
+            int row = row(id);
+            chunk(id).put(row + WATER, (byte) clamp(waterLevel));
+        } finally {
+            arena.exit();
+        }
+    }
+
+    public int getSunlightLevel(long id) {
+        arena.enter();
+        try {
+            int row = row(id);
+            return chunk(id).get(row + SUNLIGHT);
+        } finally {
+            arena.exit();
+        }
+    }
+
+    public void setSunlightLevel(long id, int sunlightLevel) {
+        arena.enter();
+        try {
+            int row = row(id);
+            chunk(id).put(row + SUNLIGHT, (byte) clamp(sunlightLevel));
+        } finally {
+            arena.exit();
+        }
+    }
+
+    public int getGrowthStage(long id) {
+        arena.enter();
+        try {
+            int row = row(id);
+            return chunk(id).getInt(row + STAGE);
+        } finally {
+            arena.exit();
+        }
+    }
+
+    public boolean isAlive(long id) {
+        arena.enter();
+        try {
+            int row = row(id);
+            return (chunk(id).get(row + FLAGS) & ALIVE_FLAG) != 0;
+        } finally {
+            arena.exit();
+        }
+    }
+}
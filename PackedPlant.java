@@ -0,0 +1,146 @@
+/**
+ * PackedPlant - Whole plant state packed into a single 32-bit int
+ * Health, water and sunlight are clamped to 0-100 by Plant's setters, so each
+ * fits in 7 bits. A garden can then be a plain int[] at 4 bytes per plant.
+ *
+ * Bit layout:
+ * 0-6 health | 7-13 water | 14-20 sunlight | 21 alive | 22-31 growth stage
+ *
+ * The growth stage gets 10 bits and saturates at MAX_STAGE
+ */
+public final class PackedPlant {
+
+    public static final int MAX_STAGE = 1023;
+
+    private static final int FIELD_MASK = 0x7F;
+    private static final int WATER_SHIFT = 7;
+    private static final int SUNLIGHT_SHIFT = 14;
+    // Package-private for TransitionTable, which reads and writes packed states
+    static final int ALIVE_SHIFT = 21;
+    static final int STAGE_SHIFT = 22;
+
+    private PackedPlant() {
+    }
+
+    /**
+     * Packs a plant state, clamping vitals to 0-100 like Plant's setters
+     */
+    public static int pack(int health, int water, int sunlight, int stage, boolean alive) {
+        return clamp(health)
+                | clamp(water) << WATER_SHIFT
+                | clamp(sunlight) << SUNLIGHT_SHIFT
+                | (alive ? 1 : 0) << ALIVE_SHIFT
+                | Math.min(MAX_STAGE, Math.max(0, stage)) << STAGE_SHIFT;
+    }
+
+    /**
+     * Packs the current state of a plant object
+     */
+    public static int pack(Plant plant) {
+        return pack(plant.getHealth(), plant.getWaterLevel(), plant.getSunlightLevel(),
+                plant.getGrowthStage(), plant.isAlive());
+    }
+
+    /**
+     * One growth cycle on a packed state, same rules as Plant.tick() with no
+     * season set (a packed state does not record its species).
+     * Uses only arithmetic and bitwise ops: every condition becomes a 0/1
+     * value taken from the sign bit of a subtraction
+     *
+     * @param state Packed plant state
+     * @return Packed state after the tick
+     */
+    public static int tick(int state) {
+        int h = state & FIELD_MASK;
+        int w = (state >>> WATER_SHIFT) & FIELD_MASK;
+        int s = (state >>> SUNLIGHT_SHIFT) & FIELD_MASK;
+        int stage = state >>> STAGE_SHIFT;
+
+        // Critical needs: -10 for each level below 20, dies at 0
+        h -= (((w - 20) >>> 31) + ((s - 20) >>> 31)) * 10;
+        int dead = (h - 1) >>> 31;
+        h &= dead - 1;
+
+        // Resource decay, floored at 0
+        w -= 5;
+        w &= ~(w >> 31);
+        s -= 3;
+        s &= ~(s >> 31);
+
+        // CAN_GROW: water > 30 && sunlight > 30 && health > 50, stage saturates
+        stage += ((30 - w) & (30 - s) & (50 - h)) >>> 31;
+        stage -= (MAX_STAGE - stage) >>> 31;
+
+        // UPDATE_HEALTH_STATUS, capped at 100.
+        // x * 171 >>> 9 == x / 3 and x * 205 >>> 11 == x / 10 for 0 <= x <= 127
+        h += (((w >> 1) + ((s * 171) >>> 9)) * 205) >>> 11;
+        int over = h - 100;
+        h -= over & ~(over >> 31);
+
+        int next = h
+                | w << WATER_SHIFT
+                | s << SUNLIGHT_SHIFT
+                | (dead ^ 1) << ALIVE_SHIFT
+                | stage << STAGE_SHIFT;
+
+        // Dead plants keep their state
+        int keep = -((state >>> ALIVE_SHIFT) & 1);
+        return (next & keep) | (state & ~keep);
+    }
+
+    /**
+     * Advances a whole packed garden by one growth cycle
+     */
+    public static void tick(int[] garden) {
+        for (int i = 0; i < garden.length; i++) {
+            garden[i] = tick(garden[i]);
+        }
+    }
+
+    // ========== Field accessors ==========
+
+    public static int health(int state) {
+        return state & FIELD_MASK;
+    }
+
+    public static int waterLevel(int state) {
+        return (state >>> WATER_SHIFT) & FIELD_MASK;
+    }
+
+    public static int sunlightLevel(int state) {
+        return (state >>> SUNLIGHT_SHIFT) & FIELD_MASK;
+    }
+
+    public static int growthStage(int state) {
+        return state >>> STAGE_SHIFT;
+    }
+
+    public static boolean isAlive(int state) {
+        return ((state >>> ALIVE_SHIFT) & 1) != 0;
+    }
+
+    public static int withHealth(int state, int health) {
+        return (state & ~FIELD_MASK) | clamp(health);
+    }
+
+    public static int withWaterLevel(int state, int water) {
+        return (state & ~(FIELD_MASK << WATER_SHIFT)) | clamp(water) << WATER_SHIFT;
+    }
+
+    public static int withSunlightLevel(int state, int sunlight) {
+        return (state & ~(FIELD_MASK << SUNLIGHT_SHIFT)) | clamp(sunlight) << SUNLIGHT_SHIFT;
+    }
+
+    public static String toString(int state) {
+        return "{health=" + health(state) +
+                ", waterLevel=" + waterLevel(state) +
+                ", sunlightLevel=" + sunlightLevel(state) +
+                ", growthStage=" + growthStage(state) +
+                ", isAlive=" + isAlive(state) +
+                '}';
+    }
+
+    private static int clamp(int value) {
+        return Math.min(100, Math.max(0, value));
+    }
+}
@@ -0,0 +1,105 @@
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * ParallelTickKernel - Ticks a PlantStore on a ForkJoinPool
+ * Plants do not interact during a tick, so the rows are split into
+ * cache-sized chunks that another kernel advances independently.
+ * tickRange() returns only when every chunk is done, which acts as the
+ * barrier at the end of each tick, and the results are identical to a
+ * sequential run.
+ *
+ * Usage: store.tick(new ParallelTickKernel());
+ */
+public class ParallelTickKernel implements TickKernel {
+
+    // 16K rows is about 112 KB of columns, small enough to stay in L2
+    public static final int DEFAULT_CHUNK_ROWS = 16 * 1024;
+
+    private final ForkJoinPool pool;
+    private final TickKernel kernel;
+    private final int chunkRows;
+
+    /**
+     * Runs the best available kernel on the common pool
+     */
+    public ParallelTickKernel() {
+        this(ForkJoinPool.commonPool(), TickKernel.best(), DEFAULT_CHUNK_ROWS);
+    }
+
+    /**
+     * @param pool      Pool that runs the chunks
+     * @param kernel    Kernel applied to each chunk
+     * @param chunkRows Rows per chunk, a positive multiple of 64 so that no
+     *                  two chunks share a word of the alive or change bits
+     */
+    public ParallelTickKernel(ForkJoinPool pool, TickKernel kernel, int chunkRows) {
+        if (chunkRows <= 0 || chunkRows % 64 != 0) {
+            throw new IllegalArgumentException("chunkRows must be a positive multiple of 64: " + chunkRows);
+        }
+        this.pool = Objects.requireNonNull(pool, "pool");
+        this.kernel = Objects.requireNonNull(kernel, "kernel");
+        this.chunkRows = chunkRows;
+    }
+
+    @Override
+    public void tickRange(PlantStore store, int from, int to) {
+        if (to - from <= chunkRows) {
+            kernel.tickRange(store, from, to);
+            return;
+        }
+        // Chunk boundaries sit on absolute multiples of chunkRows
+        int firstChunk = from / chunkRows;
+        int lastChunk = (to - 1) / chunkRows;
+        pool.invoke(new ChunkTask(store, from, to, firstChunk, lastChunk + 1));
+    }
+
+    @Override
+    public boolean reportsChanges() {
+        return kernel.reportsChanges();
+    }
+
+    public int getChunkRows() {
+        return chunkRows;
+    }
+
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    /**
+     * Splits a run of chunks in half until a single chunk is left
+     */
+    private class ChunkTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final PlantStore store;
+        private final int from;
+        private final int to;
+        private final int firstChunk;
+        private final int endChunk;
+
+        ChunkTask(PlantStore store, int from, int to, int firstChunk, int endChunk) {
+            this.store = store;
+            this.from = from;
+            this.to = to;
+            this.firstChunk = firstChunk;
+            this.endChunk = endChunk;
+        }
+
+        @Override
+        protected void compute() {
+            if (endChunk - firstChunk == 1) {
+                int start = Math.max(from, firstChunk * chunkRows);
+                int end = Math.min(to, endChunk * chunkRows);
+                kernel.tickRange(store, start, end);
+                return;
+            }
+            int middle = (firstChunk + endChunk) >>> 1;
+            invokeAll(new ChunkTask(store, from, to, firstChunk, middle),
+                    new ChunkTask(store, from, to, middle, endChunk));
+        }
+    }
+}
@@ -1,4 +1,5 @@
 import java.io.*;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
@@ -36,19 +37,26 @@ public class PlanTings {
     private static final Random random = new Random();
     private static Player player;
     private static Plant currentPlant;
-    private static Season currentSeason;
+    // Written by the real-time ticker as game time passes, read by the game loop
+    private static volatile Season currentSeason;
     private static int seeds;
     private static int points = 0;
     private static final String GAME_STATE_FILE = "planTings_game_state.txt";
 
-    // FUNCTIONAL PROGRAMMING: Predicates for plant health checks
-    private static final Predicate<Plant> IS_HEALTHY = plant -> plant.getHealth() > 70;
+    // All pauses and dates go through this clock (see main for the options)
+    private static GameClock clock = GameClock.SYSTEM;
+
+    // Real-time mode: the plant grows on its own this many times per second (0 = off)
+    private static double ticksPerSecond = 0;
+    private static GrowthTicker ticker;
+    private static PlantEventRing plantEvents;
 
-    private static final Predicate<Plant> NEEDS_WATER = plant -> plant.getWaterLevel() < 30;
+    // FUNCTIONAL PROGRAMMING: Predicates for plant health checks
+    private static final PlantCondition IS_HEALTHY = PlantCondition.above(PlantAttribute.HEALTH, 70);
 
-    private static final Predicate<Plant> NEEDS_SUNLIGHT = plant -> plant.getSunlightLevel() < 30;
+    private static final PlantCondition NEEDS_WATER = PlantCondition.below(PlantAttribute.WATER_LEVEL, 30);
 
-    private static final Predicate<Plant> IS_READY_TO_HARVEST = plant -> plant.getGrowthStage() >= 5;
+    private static final PlantCondition NEEDS_SUNLIGHT = PlantCondition.below(PlantAttribute.SUNLIGHT_LEVEL, 30);
 
     // FUNCTIONAL: BiConsumer for game actions (action + points)
     private static final Map<String, BiConsumer<Plant, Integer>> GAME_ACTIONS = new HashMap<>() {
@@ -62,13 +70,38 @@ public class PlanTings {
                 points += pts;
             });
             put("5", (plant, pts) -> {
+                updateSeason();
                 plant.grow();
                 points += pts;
             });
         }
     };
 
+    /**
+     * Options:
+     * --instant       Virtual time: pauses and typing take no real time
+     * --speed=FACTOR  Time runs FACTOR times faster than real time
+     * --tps=RATE      Real-time mode: the plant grows RATE times per second
+     * --instant and --tps do not combine: a virtual clock never waits, so
+     * the plant would grow as fast as the CPU allows
+     */
     public static void main(String[] args) {
+        for (String arg : args) {
+            if (arg.equals("--instant")) {
+                clock = new VirtualClock();
+            } else if (arg.startsWith("--speed=")) {
+                clock = new ScaledClock(Double.parseDouble(arg.substring("--speed=".length())));
+            } else if (arg.startsWith("--tps=")) {
+                ticksPerSecond = Double.parseDouble(arg.substring("--tps=".length()));
+            } else {
+                System.out.println("Unknown option: " + arg);
+                return;
+            }
+        }
+        if (clock instanceof VirtualClock && ticksPerSecond > 0) {
+            System.out.println("--instant cannot be combined with --tps: real-time mode needs a clock that waits");
+            return;
+        }
         clearScreen();
         startGame();
     }
@@ -180,10 +213,9 @@ public class PlanTings {
     private static void displaySeasonInfo() {
         printHeader("PlanTings Cultivations");
 
-        SeasonDetector detector = new SeasonDetector();
-        currentSeason = detector.getCurrentSeason();
+        updateSeason();
 
-        LocalDate today = LocalDate.now();
+        LocalDate today = clock.today();
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
 
         System.out.println("\nCurrent date: " + today.format(formatter));
@@ -193,6 +225,22 @@ public class PlanTings {
         System.out.println("Let's help you get started with that.\n");
     }
 
+    /**
+     * Detects the season from the game clock again, so under --speed the
+     * seasons change as game time passes. Called on every growth tick
+     *
+     * @return True if the season changed
+     */
+    private static boolean updateSeason() {
+        Season season = new SeasonDetector(clock).getCurrentSeason();
+        if (season == currentSeason) {
+            return false;
+        }
+        currentSeason = season;
+        Plant.setSeason(season); // The season shapes how plants grow
+        return true;
+    }
+
     /**
      * Generates random number of seeds
      */
@@ -230,6 +278,7 @@ public class PlanTings {
     private static void gameLoop() {
         clearScreen();
         boolean gameRunning = true;
+        startRealTime();
 
         while (gameRunning && currentPlant.isAlive()) {
             displayPlantStatus();
@@ -242,21 +291,66 @@ public class PlanTings {
             String choice = scanner.nextLine().trim();
 
             // FUNCTIONAL: Execute action using BiConsumer from map
-            if (GAME_ACTIONS.containsKey(choice)) {
-                int actionPoints = choice.equals("5") ? 2 : 5;
-                GAME_ACTIONS.get(choice).accept(currentPlant, actionPoints);
-            } else {
-                // Handle special cases using functional approach
-                gameRunning = handleSpecialActions(choice, gameRunning);
+            // (locked so the real-time ticker cannot grow the plant mid-action)
+            synchronized (currentPlant) {
+                if (GAME_ACTIONS.containsKey(choice)) {
+                    int actionPoints = choice.equals("5") ? 2 : 5;
+                    GAME_ACTIONS.get(choice).accept(currentPlant, actionPoints);
+                } else {
+                    // Handle special cases using functional approach
+                    gameRunning = handleSpecialActions(choice, gameRunning);
+                }
             }
+            showPlantEvents();
 
             pause(2);
             clearScreen();
         }
 
+        stopRealTime();
         displayGameOver();
     }
 
+    /**
+     * Real-time mode: starts growing the plant on a GrowthTicker. Plant
+     * events are collected in a ring buffer and shown between inputs
+     */
+    private static void startRealTime() {
+        if (ticksPerSecond <= 0) {
+            return;
+        }
+        plantEvents = new PlantEventRing(1024);
+        Plant.setEventSink(plantEvents);
+        Plant plant = currentPlant;
+        ticker = new GrowthTicker(clock, ticksPerSecond, 10, () -> {
+            synchronized (plant) {
+                if (plant.isAlive()) {
+                    updateSeason();
+                    plant.grow();
+                }
+            }
+        });
+        ticker.start();
+    }
+
+    private static void stopRealTime() {
+        if (ticker == null) {
+            return;
+        }
+        ticker.stop();
+        showPlantEvents();
+        Plant.setEventSink(PlantEventSink.CONSOLE);
+    }
+
+    /**
+     * Prints the plant events collected since the last call
+     */
+    private static void showPlantEvents() {
+        if (plantEvents != null) {
+            plantEvents.drain(PlantEventSink.CONSOLE);
+        }
+    }
+
     /**
      * FUNCTIONAL: Displays plant status with health indicators
      */
@@ -270,7 +364,11 @@ public class PlanTings {
         System.out.println("  Sunlight: " + currentPlant.getSunlightLevel() + "/100 " +
                 (NEEDS_SUNLIGHT.test(currentPlant) ? "⚠" : "✓"));
         System.out.println("  Growth Stage: " + currentPlant.getGrowthStage() +
-                (IS_READY_TO_HARVEST.test(currentPlant) ? " (Ready to Harvest!)" : ""));
+                (Plant.IS_READY_TO_HARVEST.test(currentPlant) ? " (Ready to Harvest!)" : ""));
+        if (ticker != null) {
+            System.out.println("  Growth Ticks: " + ticker.getTicksRun() + (ticker.getDroppedTicks() > 0
+                    ? " (" + ticker.getDroppedTicks() + " skipped while the game was stalled)" : ""));
+        }
         System.out.println("  Points Earned: " + points + "\n");
     }
 
@@ -300,7 +398,7 @@ public class PlanTings {
         if (NEEDS_SUNLIGHT.test(currentPlant)) {
             suggestions.add("☀ Plant needs sunlight!");
         }
-        if (IS_READY_TO_HARVEST.test(currentPlant)) {
+        if (Plant.IS_READY_TO_HARVEST.test(currentPlant)) {
             suggestions.add("🌱 Plant is ready to harvest!");
         }
 
@@ -348,7 +446,7 @@ public class PlanTings {
         System.out.println("\n" + harvestMessage);
 
         // PREDICATE: Check if harvest was successful
-        if (IS_READY_TO_HARVEST.test(currentPlant)) {
+        if (Plant.IS_READY_TO_HARVEST.test(currentPlant)) {
             points += 50;
             System.out.println("You earned 50 bonus points!");
             return false; // End game after successful harvest
@@ -414,7 +512,7 @@ public class PlanTings {
      */
     private static void pause(int seconds) {
         try {
-            Thread.sleep(seconds * 1000L);
+            clock.sleep(Duration.ofSeconds(seconds));
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
         }
@@ -428,7 +526,7 @@ public class PlanTings {
             System.out.print(c);
             System.out.flush();
             try {
-                Thread.sleep((long) (delaySeconds * 1000));
+                clock.sleepNanos((long) (delaySeconds * 1e9));
             } catch (InterruptedException e) {
                 Thread.currentThread().interrupt();
             }
@@ -8,6 +8,7 @@ import java.util.function.*;
 public abstract class Plant {
 
     // Private fields - Encapsulation
+    private final SpeciesProfile profile;
     private String name;
     private int health;
     private int waterLevel;
@@ -15,15 +16,39 @@ public abstract class Plant {
     private int growthStage;
     private boolean isAlive;
 
-    // FUNCTIONAL PROGRAMMING: Predicates for plant conditions
-    public static final Predicate<Plant> IS_THRIVING = plant -> plant.health > 80 && plant.waterLevel > 50
-            && plant.sunlightLevel > 50;
+    // Receives the events of every plant, printed to the console by default
+    private static volatile PlantEventSink eventSink = PlantEventSink.CONSOLE;
 
-    public static final Predicate<Plant> NEEDS_IMMEDIATE_CARE = plant -> plant.health < 30 || plant.waterLevel < 20
-            || plant.sunlightLevel < 20;
+    // Seasonal tick modifiers shared by all plants, base rules until a season is set
+    private static volatile SeasonMatrix.Row seasonRow = SeasonMatrix.NEUTRAL;
 
-    public static final Predicate<Plant> CAN_GROW = plant -> plant.waterLevel > 30 && plant.sunlightLevel > 30
-            && plant.health > 50;
+    // FUNCTIONAL PROGRAMMING: Predicates for plant conditions, built from
+    // thresholds so they can also be evaluated over a whole PlantStore
+    public static final PlantCondition IS_THRIVING = PlantCondition.above(PlantAttribute.HEALTH, 80)
+            .and(PlantCondition.above(PlantAttribute.WATER_LEVEL, 50))
+            .and(PlantCondition.above(PlantAttribute.SUNLIGHT_LEVEL, 50));
+
+    public static final PlantCondition NEEDS_IMMEDIATE_CARE = PlantCondition.below(PlantAttribute.HEALTH, 30)
+            .or(PlantCondition.below(PlantAttribute.WATER_LEVEL, 20))
+            .or(PlantCondition.below(PlantAttribute.SUNLIGHT_LEVEL, 20));
+
+    public static final PlantCondition CAN_GROW = PlantCondition.above(PlantAttribute.WATER_LEVEL, 30)
+            .and(PlantCondition.above(PlantAttribute.SUNLIGHT_LEVEL, 30))
+            .and(PlantCondition.above(PlantAttribute.HEALTH, 50));
+
+    public static final PlantCondition IS_READY_TO_HARVEST = PlantCondition.atLeast(PlantAttribute.GROWTH_STAGE, 5);
+
+    // Outcome flags returned by tick()
+    public static final int TICK_NEEDED_WATER = 1;
+    public static final int TICK_NEEDED_SUNLIGHT = 2;
+    public static final int TICK_WITHERED = 4;
+    public static final int TICK_GREW = 8;
+
+    // Longest life without care under the base rules (checked over all states)
+    public static final int MAX_UNATTENDED_TICKS = 28;
+
+    // Longest life without care in the slowest-draining season (checked over all states)
+    public static final int MAX_UNATTENDED_SEASONAL_TICKS = 30;
 
     // FUNCTIONAL: Consumer for state updates
     private static final Consumer<Plant> UPDATE_HEALTH_STATUS = plant -> {
@@ -37,7 +62,18 @@ public abstract class Plant {
      * @param name The name of the plant
      */
     public Plant(String name) {
+        this(SpeciesProfile.DEFAULT);
         this.name = name;
+    }
+
+    /**
+     * Constructor for Plant of a known species
+     * 
+     * @param profile Care numbers of the plant's species, also giving its name
+     */
+    public Plant(SpeciesProfile profile) {
+        this.profile = Objects.requireNonNull(profile, "profile");
+        this.name = profile.getName();
         this.health = 100;
         this.waterLevel = 50;
         this.sunlightLevel = 50;
@@ -64,81 +100,206 @@ public abstract class Plant {
     public abstract String harvestProduct();
 
     /**
-     * FUNCTIONAL: Concrete method - common to all plants
-     * Uses Predicates and Consumers for cleaner logic
+     * Care numbers of this plant's species
+     * water(), bask() and harvestProduct() take their numbers from here
+     */
+    public final SpeciesProfile getProfile() {
+        return profile;
+    }
+
+    /**
+     * Concrete method - common to all plants
+     * Called once per plant every cycle, so it allocates nothing itself;
+     * what happened is reported to the event sink
      */
     public void grow() {
-        // OPTIONAL: Safe operation check
-        Optional.of(this)
-                .filter(plant -> plant.isAlive)
-                .ifPresentOrElse(
-                        plant -> performGrowth(),
-                        () -> System.out.println("Your " + name + " is no longer alive."));
+        if (!isAlive) {
+            emit(PlantEventType.NO_LONGER_ALIVE, growthStage);
+            return;
+        }
+        performGrowth();
     }
 
     /**
-     * FUNCTIONAL: Performs growth operations using predicates
+     * Advances the plant by one growth cycle without any console output.
+     * Same rules as grow(), so a headless engine can tick many plants quickly
+     * 
+     * @return Bit set of TICK_* flags describing what happened this cycle
      */
-    private void performGrowth() {
-        // Check critical conditions using predicates
-        checkCriticalNeeds();
+    public int tick() {
+        if (!isAlive) {
+            return 0;
+        }
+
+        // Check critical conditions
+        int outcome = checkCriticalNeeds();
 
-        // Natural resource decay using lambda
-        Arrays.asList(
-                (Runnable) () -> waterLevel = Math.max(0, waterLevel - 5),
-                (Runnable) () -> sunlightLevel = Math.max(0, sunlightLevel - 3)).forEach(Runnable::run);
+        // Natural resource decay, shaped by the season
+        SeasonMatrix.Row row = seasonRow;
+        int species = profile.getId();
+        waterLevel = Math.max(0, waterLevel - row.waterDecay[species]);
+        sunlightLevel = Math.max(0, sunlightLevel - row.sunlightDecay[species]);
 
-        // PREDICATE: Check if plant can grow
-        if (CAN_GROW.test(this)) {
+        // Check if plant can grow (CAN_GROW with the season's health threshold)
+        if (waterLevel > 30 && sunlightLevel > 30 && health > row.growHealth[species]) {
             growthStage++;
-            System.out.println("Your " + name + " is growing! Stage: " + growthStage);
+            outcome |= TICK_GREW;
         }
 
         // CONSUMER: Update health
         UPDATE_HEALTH_STATUS.accept(this);
+        return outcome;
     }
 
     /**
-     * FUNCTIONAL: Checks critical needs using predicates
+     * Fast-forwards the plant by many growth cycles at once, for example to
+     * catch up after the game was closed. Silent like tick().
+     * Runs tick() until the ticks are used up or the plant dies, as a dead
+     * plant never changes again. The loop does not use a bound, but one
+     * caps how long it runs: water and sunlight only decay and health
+     * cannot outlast them, so without care a plant dies within
+     * MAX_UNATTENDED_TICKS (28) ticks under the base rules and within
+     * MAX_UNATTENDED_SEASONAL_TICKS (30) in the slowest-draining season.
+     * The cost is therefore constant however large ticks is.
+     *
+     * @param ticks Number of growth cycles to apply
+     * @return All TICK_* flags raised along the way, OR-ed together
      */
-    private void checkCriticalNeeds() {
-        // Create list of condition checks with their messages
-        Map<Predicate<Plant>, String> criticalChecks = new LinkedHashMap<>();
-        criticalChecks.put(plant -> plant.waterLevel < 20, "Your " + name + " needs water!");
-        criticalChecks.put(plant -> plant.sunlightLevel < 20, "Your " + name + " needs sunlight!");
+    public int advance(long ticks) {
+        if (ticks < 0) {
+            throw new IllegalArgumentException("ticks must not be negative: " + ticks);
+        }
+        int outcome = 0;
+        for (long t = 0; t < ticks && isAlive; t++) {
+            outcome |= tick();
+        }
+        return outcome;
+    }
 
-        // STREAM: Process all checks
-        criticalChecks.forEach((predicate, message) -> {
-            if (predicate.test(this)) {
-                health -= 10;
-                System.out.println(message);
-            }
-        });
+    /**
+     * Performs growth operations and reports what happened
+     */
+    private void performGrowth() {
+        int outcome = tick();
+        if (outcome == 0) {
+            return;
+        }
+
+        if ((outcome & TICK_NEEDED_WATER) != 0) {
+            emit(PlantEventType.NEEDS_WATER, waterLevel);
+        }
+        if ((outcome & TICK_NEEDED_SUNLIGHT) != 0) {
+            emit(PlantEventType.NEEDS_SUNLIGHT, sunlightLevel);
+        }
+        if ((outcome & TICK_WITHERED) != 0) {
+            emit(PlantEventType.WITHERED, growthStage);
+        }
+        if ((outcome & TICK_GREW) != 0) {
+            emit(PlantEventType.GREW, growthStage);
+        }
+    }
+
+    // ========== Season ==========
+
+    /**
+     * Applies a season's growth modifiers to every plant's tick
+     *
+     * @param season The current season, or null for the base rules
+     */
+    public static void setSeason(Season season) {
+        seasonRow = SeasonMatrix.of(season);
+    }
+
+    /**
+     * @return The season whose modifiers apply, or null for the base rules
+     */
+    public static Season getSeason() {
+        return seasonRow.getSeason();
+    }
+
+    // ========== Events ==========
+
+    /**
+     * Routes the events of all plants to the given sink
+     */
+    public static void setEventSink(PlantEventSink sink) {
+        eventSink = Objects.requireNonNull(sink, "sink");
+    }
+
+    public static PlantEventSink getEventSink() {
+        return eventSink;
+    }
+
+    /**
+     * Reports an event to the current sink
+     */
+    protected final void emit(PlantEventType type, int value) {
+        eventSink.onEvent(this, type, value);
+    }
+
+    /**
+     * Turns an event into the message shown to the player.
+     * The watering and sunlight messages come from the species' profile
+     *
+     * @param type  What happened
+     * @param value Value carried by the event
+     * @return Message for the console
+     */
+    public String describeEvent(PlantEventType type, int value) {
+        switch (type) {
+            case NEEDS_WATER:
+                return "Your " + name + " needs water!";
+            case NEEDS_SUNLIGHT:
+                return "Your " + name + " needs sunlight!";
+            case WITHERED:
+                return "Oh no! Your " + name + " has withered away.";
+            case GREW:
+                return "Your " + name + " is growing! Stage: " + value;
+            case NO_LONGER_ALIVE:
+                return "Your " + name + " is no longer alive.";
+            case WATERED:
+                return profile.watered(name, value);
+            case BASKED:
+                return profile.basked(name, value);
+            default:
+                return name + ": " + type + " " + value;
+        }
+    }
+
+    /**
+     * Checks critical needs and applies the health penalties
+     * 
+     * @return TICK_* flags for the needs that were not met
+     */
+    private int checkCriticalNeeds() {
+        int outcome = 0;
+        if (waterLevel < 20) {
+            health -= 10;
+            outcome |= TICK_NEEDED_WATER;
+        }
+        if (sunlightLevel < 20) {
+            health -= 10;
+            outcome |= TICK_NEEDED_SUNLIGHT;
+        }
 
         // Check if plant dies
         if (health <= 0) {
             health = 0;
             isAlive = false;
-            System.out.println("Oh no! Your " + name + " has withered away.");
+            outcome |= TICK_WITHERED;
         }
+        return outcome;
     }
 
     /**
      * FUNCTIONAL: Get comprehensive plant status using Stream
+     * Builds and boxes a new map per call; PlantStatus.read(plant) gives the
+     * same fields typed, into a reusable object
      * 
      * @return Map of status attributes
      */
     public Map<String, Object> getStatus() {
-        Map<String, Object> status = new LinkedHashMap<>();
-        status.put("name", name);
-        status.put("health", health);
-        status.put("waterLevel", waterLevel);
-        status.put("sunlightLevel", sunlightLevel);
-        status.put("growthStage", growthStage);
-        status.put("isAlive", isAlive);
-        status.put("isThriving", IS_THRIVING.test(this));
-        status.put("needsCare", NEEDS_IMMEDIATE_CARE.test(this));
-        return status;
+        return new PlantStatus().read(this).toMap();
     }
 
     /**
@@ -155,7 +316,7 @@ public abstract class Plant {
         checks.put(NEEDS_IMMEDIATE_CARE, "⚠ Plant needs immediate care!");
         checks.put(plant -> plant.waterLevel < 50, "💧 Consider watering");
         checks.put(plant -> plant.sunlightLevel < 50, "☀ Needs more sunlight");
-        checks.put(plant -> plant.growthStage >= 5, "🌱 Ready for harvest!");
+        checks.put(IS_READY_TO_HARVEST, "🌱 Ready for harvest!");
 
         checks.forEach((predicate, message) -> {
             if (predicate.test(this)) {
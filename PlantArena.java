@@ -0,0 +1,137 @@
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * PlantArena - Owns the off-heap memory of one or more OffHeapPlantStores
+ * Everything allocated from an arena is released together by close(), so a
+ * whole garden can be freed in one call instead of waiting for the GC
+ *
+ * Freed memory must never be read, so every access to a store goes through
+ * enter() and exit(). close() first stops new accesses (they fail with
+ * IllegalStateException), then waits for the ones in progress to finish,
+ * and only then frees the buffers. Closing while other threads use the
+ * stores is therefore safe: they get an exception, not freed memory.
+ * Allocation is not thread-safe; allocate from one thread.
+ *
+ * Usage:
+ * try (PlantArena arena = new PlantArena()) {
+ *     OffHeapPlantStore garden = new OffHeapPlantStore(arena, 100_000_000);
+ *     ...
+ * }
+ */
+public class PlantArena implements AutoCloseable {
+
+    // Frees a direct buffer right away; null if the JDK does not allow it
+    private static final MethodHandle INVOKE_CLEANER = findCleaner();
+
+    // Sign bit: closed. Other bits: accesses in progress
+    private static final int CLOSED = Integer.MIN_VALUE;
+
+    private final List<ByteBuffer> buffers = new ArrayList<>();
+    private volatile long allocatedBytes;
+    private final AtomicInteger state = new AtomicInteger();
+
+    /**
+     * Allocates a zeroed off-heap buffer owned by this arena
+     *
+     * @param bytes Size of the buffer
+     * @return Native-order direct buffer
+     */
+    ByteBuffer allocate(int bytes) {
+        checkOpen();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bytes).order(ByteOrder.nativeOrder());
+        buffers.add(buffer);
+        allocatedBytes += bytes;
+        return buffer;
+    }
+
+    /**
+     * Releases every buffer allocated from this arena, after waiting for
+     * accesses in progress to finish. Later accesses throw
+     * IllegalStateException
+     */
+    @Override
+    public void close() {
+        if ((state.getAndUpdate(s -> s | CLOSED) & CLOSED) != 0) {
+            return;
+        }
+        while (state.get() != CLOSED) {
+            Thread.onSpinWait(); // Accesses are short: one row, or one tick
+        }
+        for (ByteBuffer buffer : buffers) {
+            free(buffer);
+        }
+        buffers.clear();
+        allocatedBytes = 0;
+    }
+
+    public boolean isOpen() {
+        return state.get() >= 0;
+    }
+
+    /**
+     * @return Off-heap bytes currently held by this arena
+     */
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    void checkOpen() {
+        if (!isOpen()) {
+            throw new IllegalStateException("PlantArena is closed");
+        }
+    }
+
+    /**
+     * Starts an access to memory of this arena; must be paired with exit()
+     * in a finally block. Keeps close() from freeing the memory meanwhile
+     *
+     * @throws IllegalStateException If the arena is closed or closing
+     */
+    void enter() {
+        while (true) {
+            int s = state.get();
+            if (s < 0) {
+                throw new IllegalStateException("PlantArena is closed");
+            }
+            if (state.compareAndSet(s, s + 1)) {
+                return;
+            }
+        }
+    }
+
+    void exit() {
+        state.decrementAndGet();
+    }
+
+    private static void free(ByteBuffer buffer) {
+        if (INVOKE_CLEANER == null) {
+            return; // Falls back to the GC releasing the buffer later
+        }
+        try {
+            INVOKE_CLEANER.invoke(buffer);
+        } catch (Throwable e) {
+            throw new IllegalStateException("Could not free off-heap buffer", e);
+        }
+    }
+
+    private static MethodHandle findCleaner() {
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field field = unsafeClass.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            Object unsafe = field.get(null);
+            return MethodHandles.lookup()
+                    .findVirtual(unsafeClass, "invokeCleaner", MethodType.methodType(void.class, ByteBuffer.class))
+                    .bindTo(unsafe);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+/**
+ * PlantAttribute - Plant attributes that conditions and queries can test
+ * Each attribute reads its value from a Plant object or from a PlantStore
+ * row, as an int: species is the species id and alive is 1 or 0.
+ */
+public enum PlantAttribute {
+    HEALTH("health", "health", 100) {
+        @Override
+        public int valueOf(Plant plant) {
+            return plant.getHealth();
+        }
+
+        @Override
+        public int valueOf(PlantStore store, int id) {
+            return store.getHealth(id);
+        }
+    },
+    WATER_LEVEL("waterLevel", "water", 100) {
+        @Override
+        public int valueOf(Plant plant) {
+            return plant.getWaterLevel();
+        }
+
+        @Override
+        public int valueOf(PlantStore store, int id) {
+            return store.getWaterLevel(id);
+        }
+    },
+    SUNLIGHT_LEVEL("sunlightLevel", "sunlight", 100) {
+        @Override
+        public int valueOf(Plant plant) {
+            return plant.getSunlightLevel();
+        }
+
+        @Override
+        public int valueOf(PlantStore store, int id) {
+            return store.getSunlightLevel(id);
+        }
+    },
+    GROWTH_STAGE("growthStage", "stage", Integer.MAX_VALUE) {
+        @Override
+        public int valueOf(Plant plant) {
+            return plant.getGrowthStage();
+        }
+
+        @Override
+        public int valueOf(PlantStore store, int id) {
+            return store.getGrowthStage(id);
+        }
+    },
+    SPECIES("species", "species", SpeciesProfile.count() - 1) {
+        @Override
+        public int valueOf(Plant plant) {
+            return plant.getProfile().getId();
+        }
+
+        @Override
+        public int valueOf(PlantStore store, int id) {
+            return store.getSpecies(id);
+        }
+    },
+    ALIVE("isAlive", "alive", 1) {
+        @Override
+        public int valueOf(Plant plant) {
+            return plant.isAlive() ? 1 : 0;
+        }
+
+        @Override
+        public int valueOf(PlantStore store, int id) {
+            return store.isAlive(id) ? 1 : 0;
+        }
+    };
+
+    private final String fieldName;
+    private final String shortName;
+    private final int maxValue;
+
+    PlantAttribute(String fieldName, String shortName, int maxValue) {
+        this.fieldName = fieldName;
+        this.shortName = shortName;
+        this.maxValue = maxValue;
+    }
+
+    /**
+     * @return The attribute's value for one plant
+     */
+    public abstract int valueOf(Plant plant);
+
+    /**
+     * @return The attribute's value for one row of a store
+     */
+    public abstract int valueOf(PlantStore store, int id);
+
+    /**
+     * Finds an attribute by its field name or short name, ignoring case
+     *
+     * @return The attribute, or null if no attribute has that name
+     */
+    public static PlantAttribute forName(String name) {
+        for (PlantAttribute attribute : values()) {
+            if (attribute.fieldName.equalsIgnoreCase(name) || attribute.shortName.equalsIgnoreCase(name)) {
+                return attribute;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return Name as used in Plant.getStatus()
+     */
+    public String getFieldName() {
+        return fieldName;
+    }
+
+    /**
+     * @return Name used in garden queries, e.g. "water"
+     */
+    public String getShortName() {
+        return shortName;
+    }
+
+    /**
+     * @return Largest value the attribute can take (values start at 0)
+     */
+    public int getMaxValue() {
+        return maxValue;
+    }
+
+    /**
+     * @return True if the attribute takes few enough values to index by value
+     */
+    public boolean isBounded() {
+        return maxValue <= 100;
+    }
+}
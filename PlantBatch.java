@@ -0,0 +1,172 @@
+import java.util.*;
+
+/**
+ * PlantBatch - Cares for many plants at once, one species at a time
+ * A loop that calls water() on a mixed list sees five receiver classes at
+ * one call site, so the JIT falls back to a virtual call per plant. Here the
+ * plants are grouped by species and every species gets its own loop with a
+ * cast to the concrete class. Each of those call sites only ever sees one
+ * class, which the JIT can bind directly and inline. A plant that carries a
+ * built-in profile without being that class (any other Plant subclass)
+ * fails the instanceof check and gets the ordinary virtual call, as do
+ * plants made by name, which share the DEFAULT profile.
+ *
+ * Usage:
+ * PlantBatch batch = new PlantBatch(garden);
+ * batch.waterAll();
+ */
+public class PlantBatch {
+
+    private final Plant[][] groups = new Plant[SpeciesProfile.count()][];
+    private final int size;
+
+    /**
+     * Groups the plants by species, keeping their order within a species
+     */
+    public PlantBatch(Collection<? extends Plant> plants) {
+        int[] counts = new int[groups.length];
+        for (Plant plant : plants) {
+            counts[plant.getProfile().getId()]++;
+        }
+        for (int id = 0; id < groups.length; id++) {
+            groups[id] = new Plant[counts[id]];
+            counts[id] = 0;
+        }
+        for (Plant plant : plants) {
+            int id = plant.getProfile().getId();
+            groups[id][counts[id]++] = plant;
+        }
+        size = plants.size();
+    }
+
+    // The loops below are deliberately repeated per species: every copy is a
+    // separate call site that only sees one concrete class. The else
+    // branches are only taken by plants of other classes
+
+    /**
+     * Calls water() on every plant
+     */
+    public void waterAll() {
+        for (Plant plant : groups[PlantStore.POTATO]) {
+            if (plant instanceof Potato) {
+                ((Potato) plant).water();
+            } else {
+                plant.water();
+            }
+        }
+        for (Plant plant : groups[PlantStore.MARIGOLD]) {
+            if (plant instanceof Marigold) {
+                ((Marigold) plant).water();
+            } else {
+                plant.water();
+            }
+        }
+        for (Plant plant : groups[PlantStore.TOMATO]) {
+            if (plant instanceof Tomato) {
+                ((Tomato) plant).water();
+            } else {
+                plant.water();
+            }
+        }
+        for (Plant plant : groups[PlantStore.CUCUMBER]) {
+            if (plant instanceof Cucumber) {
+                ((Cucumber) plant).water();
+            } else {
+                plant.water();
+            }
+        }
+        for (Plant plant : groups[PlantStore.SUNFLOWER]) {
+            if (plant instanceof Sunflower) {
+                ((Sunflower) plant).water();
+            } else {
+                plant.water();
+            }
+        }
+        for (Plant plant : groups[PlantStore.OTHER]) {
+            plant.water();
+        }
+    }
+
+    /**
+     * Calls bask() on every plant
+     */
+    public void baskAll() {
+        for (Plant plant : groups[PlantStore.POTATO]) {
+            if (plant instanceof Potato) {
+                ((Potato) plant).bask();
+            } else {
+                plant.bask();
+            }
+        }
+        for (Plant plant : groups[PlantStore.MARIGOLD]) {
+            if (plant instanceof Marigold) {
+                ((Marigold) plant).bask();
+            } else {
+                plant.bask();
+            }
+        }
+        for (Plant plant : groups[PlantStore.TOMATO]) {
+            if (plant instanceof Tomato) {
+                ((Tomato) plant).bask();
+            } else {
+                plant.bask();
+            }
+        }
+        for (Plant plant : groups[PlantStore.CUCUMBER]) {
+            if (plant instanceof Cucumber) {
+                ((Cucumber) plant).bask();
+            } else {
+                plant.bask();
+            }
+        }
+        for (Plant plant : groups[PlantStore.SUNFLOWER]) {
+            if (plant instanceof Sunflower) {
+                ((Sunflower) plant).bask();
+            } else {
+                plant.bask();
+            }
+        }
+        for (Plant plant : groups[PlantStore.OTHER]) {
+            plant.bask();
+        }
+    }
+
+    /**
+     * Calls harvestProduct() on every plant
+     *
+     * @return The harvest messages, grouped by species
+     */
+    public List<String> harvestAll() {
+        List<String> results = new ArrayList<>(size);
+        for (Plant plant : groups[PlantStore.POTATO]) {
+            results.add(plant instanceof Potato ? ((Potato) plant).harvestProduct() : plant.harvestProduct());
+        }
+        for (Plant plant : groups[PlantStore.MARIGOLD]) {
+            results.add(plant instanceof Marigold ? ((Marigold) plant).harvestProduct() : plant.harvestProduct());
+        }
+        for (Plant plant : groups[PlantStore.TOMATO]) {
+            results.add(plant instanceof Tomato ? ((Tomato) plant).harvestProduct() : plant.harvestProduct());
+        }
+        for (Plant plant : groups[PlantStore.CUCUMBER]) {
+            results.add(plant instanceof Cucumber ? ((Cucumber) plant).harvestProduct() : plant.harvestProduct());
+        }
+        for (Plant plant : groups[PlantStore.SUNFLOWER]) {
+            results.add(plant instanceof Sunflower ? ((Sunflower) plant).harvestProduct() : plant.harvestProduct());
+        }
+        for (Plant plant : groups[PlantStore.OTHER]) {
+            results.add(plant.harvestProduct());
+        }
+        return results;
+    }
+
+    /**
+     * @return The plants of one species, in their original order
+     */
+    public List<Plant> getGroup(SpeciesProfile species) {
+        return Collections.unmodifiableList(Arrays.asList(groups[species.getId()]));
+    }
+
+    public int size() {
+        return size;
+    }
+}
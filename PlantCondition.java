@@ -0,0 +1,441 @@
+import java.util.*;
+import java.util.function.*;
+
+/**
+ * PlantCondition - A plant predicate described as data instead of a lambda
+ * Conditions are thresholds on a PlantAttribute (health > 80) combined with
+ * and, or and negate. They still test one Plant at a time like any other
+ * Predicate, but because the thresholds are visible they can also be
+ * evaluated over a whole PlantStore at once: every threshold becomes a
+ * branch-free scan of one column that fills 64 selection bits per word, and
+ * and/or/not combine those words directly.
+ *
+ * Usage:
+ * PlantCondition thirsty = PlantCondition.below(PlantAttribute.WATER_LEVEL, 30);
+ * long[] selected = thirsty.and(Plant.CAN_GROW).select(store);
+ */
+public abstract class PlantCondition implements Predicate<Plant> {
+
+    /**
+     * Comparison of an attribute with a constant
+     */
+    public enum Operator {
+        LESS("<"),
+        LESS_OR_EQUAL("<="),
+        GREATER(">"),
+        GREATER_OR_EQUAL(">="),
+        EQUAL("=="),
+        NOT_EQUAL("!=");
+
+        private final String symbol;
+
+        Operator(String symbol) {
+            this.symbol = symbol;
+        }
+
+        public boolean test(int value, int constant) {
+            switch (this) {
+                case LESS:
+                    return value < constant;
+                case LESS_OR_EQUAL:
+                    return value <= constant;
+                case GREATER:
+                    return value > constant;
+                case GREATER_OR_EQUAL:
+                    return value >= constant;
+                case EQUAL:
+                    return value == constant;
+                default:
+                    return value != constant;
+            }
+        }
+
+        public String getSymbol() {
+            return symbol;
+        }
+    }
+
+    // Only the nested node classes below extend this
+    private PlantCondition() {
+    }
+
+    // ========== Building conditions ==========
+
+    /**
+     * @return Condition "attribute operator constant", e.g. health > 80
+     */
+    public static PlantCondition where(PlantAttribute attribute, Operator operator, int constant) {
+        return new Threshold(Objects.requireNonNull(attribute, "attribute"),
+                Objects.requireNonNull(operator, "operator"), constant);
+    }
+
+    public static PlantCondition below(PlantAttribute attribute, int constant) {
+        return where(attribute, Operator.LESS, constant);
+    }
+
+    public static PlantCondition above(PlantAttribute attribute, int constant) {
+        return where(attribute, Operator.GREATER, constant);
+    }
+
+    public static PlantCondition atLeast(PlantAttribute attribute, int constant) {
+        return where(attribute, Operator.GREATER_OR_EQUAL, constant);
+    }
+
+    public static PlantCondition atMost(PlantAttribute attribute, int constant) {
+        return where(attribute, Operator.LESS_OR_EQUAL, constant);
+    }
+
+    public static PlantCondition equalTo(PlantAttribute attribute, int constant) {
+        return where(attribute, Operator.EQUAL, constant);
+    }
+
+    /**
+     * @return Condition that holds when both this and the other hold
+     */
+    public PlantCondition and(PlantCondition other) {
+        return new And(this, Objects.requireNonNull(other, "other"));
+    }
+
+    /**
+     * @return Condition that holds when this or the other holds
+     */
+    public PlantCondition or(PlantCondition other) {
+        return new Or(this, Objects.requireNonNull(other, "other"));
+    }
+
+    @Override
+    public PlantCondition negate() {
+        return new Not(this);
+    }
+
+    // ========== Evaluating over a store ==========
+
+    /**
+     * Tests one row of a store, like test(Plant) on the matching plant
+     */
+    public abstract boolean test(PlantStore store, int id);
+
+    /**
+     * Evaluates the condition for every plant in the store
+     *
+     * @return Selection bitmap: bit (id & 63) of word (id >>> 6) is set when
+     *         the plant with that id matches
+     */
+    public long[] select(PlantStore store) {
+        int rows = store.size();
+        long[] slots = new long[(rows + 63) >>> 6];
+        scan(store, rows, slots);
+        clearTail(slots, rows);
+
+        int[] slotToId = store.slotToIdMap();
+        if (slotToId == null) {
+            return slots;
+        }
+        // Rows were moved by compaction, so turn row bits into id bits
+        long[] ids = new long[slots.length];
+        for (int w = 0; w < slots.length; w++) {
+            for (long bits = slots[w]; bits != 0; bits &= bits - 1) {
+                int id = slotToId[(w << 6) | Long.numberOfTrailingZeros(bits)];
+                ids[id >>> 6] |= 1L << id;
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * @return Number of plants in the store that match
+     */
+    public int count(PlantStore store) {
+        int rows = store.size();
+        long[] slots = new long[(rows + 63) >>> 6];
+        scan(store, rows, slots);
+        clearTail(slots, rows);
+        int count = 0;
+        for (long word : slots) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * Fills out with one bit per row of the store, for rows [0, rows).
+     * Bits past the last row may be left set
+     */
+    final void scan(PlantStore store, int rows, long[] out) {
+        for (int w = 0, words = Math.min(out.length, (rows + 63) >>> 6); w < words; w++) {
+            out[w] = scanWord(store, w, rows);
+        }
+    }
+
+    /**
+     * Evaluates the 64 rows of word w at once, without allocating: bit j is
+     * set when row (w << 6) + j matches. Bits at or past rows may be set
+     */
+    abstract long scanWord(PlantStore store, int w, int rows);
+
+    /**
+     * Rows of word w whose outcome the last bulk change may have altered:
+     * those it changed in any attribute the condition reads, from
+     * PlantStore.changedBits()
+     */
+    abstract long changedBits(PlantStore store, int w);
+
+    /**
+     * Adds the parts of a chain of and() calls to the list, or this
+     * condition itself if it is not an and()
+     */
+    void collectConjuncts(List<PlantCondition> out) {
+        out.add(this);
+    }
+
+    private static void clearTail(long[] words, int rows) {
+        if ((rows & 63) != 0) {
+            words[words.length - 1] &= (1L << rows) - 1;
+        }
+    }
+
+    // ========== Nodes ==========
+
+    static final class Threshold extends PlantCondition {
+
+        private final PlantAttribute attribute;
+        private final Operator operator;
+        private final int constant;
+
+        // Every operator is one of two scans, value < t or value == t,
+        // possibly inverted: <= c is < c + 1, > c is !(< c + 1), and so on
+        private final boolean equality;
+        private final long invert;
+        private final long threshold;
+
+        Threshold(PlantAttribute attribute, Operator operator, int constant) {
+            this.attribute = attribute;
+            this.operator = operator;
+            this.constant = constant;
+            this.equality = operator == Operator.EQUAL || operator == Operator.NOT_EQUAL;
+            this.invert = operator == Operator.GREATER || operator == Operator.GREATER_OR_EQUAL
+                    || operator == Operator.NOT_EQUAL ? -1L : 0;
+            long less = operator == Operator.LESS_OR_EQUAL || operator == Operator.GREATER
+                    ? constant + 1L : constant;
+            // Byte columns hold 0-100, so any threshold outside 0-101 behaves like its end
+            this.threshold = attribute == PlantAttribute.GROWTH_STAGE || attribute == PlantAttribute.ALIVE
+                    ? less : Math.max(0, Math.min(101, less));
+        }
+
+        @Override
+        public boolean test(Plant plant) {
+            return operator.test(attribute.valueOf(plant), constant);
+        }
+
+        @Override
+        public boolean test(PlantStore store, int id) {
+            return operator.test(attribute.valueOf(store, id), constant);
+        }
+
+        PlantAttribute getAttribute() {
+            return attribute;
+        }
+
+        Operator getOperator() {
+            return operator;
+        }
+
+        int getConstant() {
+            return constant;
+        }
+
+        @Override
+        long scanWord(PlantStore store, int w, int rows) {
+            int base = w << 6;
+            int n = Math.min(64, rows - base);
+            long bits;
+            switch (attribute) {
+                case ALIVE:
+                    bits = scanAlive(store.aliveBits()[w]);
+                    break;
+                case GROWTH_STAGE:
+                    bits = equality ? scanEqual(store.growthStageColumn(), base, n, constant)
+                            : scanLess(store.growthStageColumn(), base, n, threshold);
+                    break;
+                default:
+                    byte[] column = attribute == PlantAttribute.HEALTH ? store.healthColumn()
+                            : attribute == PlantAttribute.WATER_LEVEL ? store.waterColumn()
+                            : attribute == PlantAttribute.SUNLIGHT_LEVEL ? store.sunlightColumn()
+                            : store.speciesColumn();
+                    bits = equality ? scanEqual(column, base, n, constant)
+                            : scanLess(column, base, n, (int) threshold);
+            }
+            return bits ^ invert;
+        }
+
+        @Override
+        long changedBits(PlantStore store, int w) {
+            return store.changedBits(attribute, w);
+        }
+
+        // Alive is 1 or 0, so the bits are all, none, or the alive bits or their inverse
+        private long scanAlive(long alive) {
+            long ifAlive = equality ? (constant == 1 ? -1L : 0) : (threshold > 1 ? -1L : 0);
+            long ifDead = equality ? (constant == 0 ? -1L : 0) : (threshold > 0 ? -1L : 0);
+            return (alive & ifAlive) | (~alive & ifDead);
+        }
+
+        // The bit is the sign of value - threshold
+        private static long scanLess(byte[] column, int base, int n, int threshold) {
+            long bits = 0;
+            for (int j = 0; j < n; j++) {
+                bits |= (long) ((column[base + j] - threshold) >>> 31) << j;
+            }
+            return bits;
+        }
+
+        private static long scanLess(int[] column, int base, int n, long threshold) {
+            long bits = 0;
+            for (int j = 0; j < n; j++) {
+                bits |= ((column[base + j] - threshold) >>> 63) << j;
+            }
+            return bits;
+        }
+
+        // (x - 1) & ~x has its sign bit set only for x == 0
+        private static long scanEqual(byte[] column, int base, int n, int constant) {
+            long bits = 0;
+            for (int j = 0; j < n; j++) {
+                int x = column[base + j] ^ constant;
+                bits |= (long) (((x - 1) & ~x) >>> 31) << j;
+            }
+            return bits;
+        }
+
+        private static long scanEqual(int[] column, int base, int n, int constant) {
+            long bits = 0;
+            for (int j = 0; j < n; j++) {
+                int x = column[base + j] ^ constant;
+                bits |= (long) (((x - 1) & ~x) >>> 31) << j;
+            }
+            return bits;
+        }
+
+        @Override
+        public String toString() {
+            return attribute.getFieldName() + " " + operator.getSymbol() + " " + constant;
+        }
+    }
+
+    private static final class And extends PlantCondition {
+
+        private final PlantCondition left;
+        private final PlantCondition right;
+
+        And(PlantCondition left, PlantCondition right) {
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        public boolean test(Plant plant) {
+            return left.test(plant) && right.test(plant);
+        }
+
+        @Override
+        public boolean test(PlantStore store, int id) {
+            return left.test(store, id) && right.test(store, id);
+        }
+
+        @Override
+        void collectConjuncts(List<PlantCondition> out) {
+            left.collectConjuncts(out);
+            right.collectConjuncts(out);
+        }
+
+        @Override
+        long scanWord(PlantStore store, int w, int rows) {
+            return left.scanWord(store, w, rows) & right.scanWord(store, w, rows);
+        }
+
+        @Override
+        long changedBits(PlantStore store, int w) {
+            return left.changedBits(store, w) | right.changedBits(store, w);
+        }
+
+        @Override
+        public String toString() {
+            return "(" + left + " && " + right + ")";
+        }
+    }
+
+    private static final class Or extends PlantCondition {
+
+        private final PlantCondition left;
+        private final PlantCondition right;
+
+        Or(PlantCondition left, PlantCondition right) {
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        public boolean test(Plant plant) {
+            return left.test(plant) || right.test(plant);
+        }
+
+        @Override
+        public boolean test(PlantStore store, int id) {
+            return left.test(store, id) || right.test(store, id);
+        }
+
+        @Override
+        long scanWord(PlantStore store, int w, int rows) {
+            return left.scanWord(store, w, rows) | right.scanWord(store, w, rows);
+        }
+
+        @Override
+        long changedBits(PlantStore store, int w) {
+            return left.changedBits(store, w) | right.changedBits(store, w);
+        }
+
+        @Override
+        public String toString() {
+            return "(" + left + " || " + right + ")";
+        }
+    }
+
+    private static final class Not extends PlantCondition {
+
+        private final PlantCondition inner;
+
+        Not(PlantCondition inner) {
+            this.inner = inner;
+        }
+
+        @Override
+        public boolean test(Plant plant) {
+            return !inner.test(plant);
+        }
+
+        @Override
+        public boolean test(PlantStore store, int id) {
+            return !inner.test(store, id);
+        }
+
+        @Override
+        long scanWord(PlantStore store, int w, int rows) {
+            return ~inner.scanWord(store, w, rows);
+        }
+
+        @Override
+        long changedBits(PlantStore store, int w) {
+            return inner.changedBits(store, w);
+        }
+
+        @Override
+        public PlantCondition negate() {
+            return inner;
+        }
+
+        @Override
+        public String toString() {
+            return "!" + inner;
+        }
+    }
+}
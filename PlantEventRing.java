@@ -0,0 +1,108 @@
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * PlantEventRing - Lock-free ring buffer of plant events
+ * Any number of threads may record events; one thread at a time drains them
+ * into another sink (usually PlantEventSink.CONSOLE). Recording never blocks
+ * and never allocates: when the ring is full the new event is dropped and
+ * counted.
+ *
+ * Usage:
+ * PlantEventRing ring = new PlantEventRing(4096);
+ * Plant.setEventSink(ring);
+ * ...
+ * ring.drain(PlantEventSink.CONSOLE);
+ */
+public class PlantEventRing implements PlantEventSink {
+
+    private static final PlantEventType[] TYPES = PlantEventType.values();
+
+    private final int mask;
+    private final Plant[] plants;
+    private final byte[] types;
+    private final int[] values;
+
+    // Slot i holds event number published[i] once its fields are written
+    private final AtomicLongArray published;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    /**
+     * @param capacity Number of events the ring holds, a power of two
+     */
+    public PlantEventRing(int capacity) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("capacity must be a positive power of two: " + capacity);
+        }
+        this.mask = capacity - 1;
+        this.plants = new Plant[capacity];
+        this.types = new byte[capacity];
+        this.values = new int[capacity];
+        this.published = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            published.set(i, -1);
+        }
+    }
+
+    @Override
+    public void onEvent(Plant plant, PlantEventType type, int value) {
+        long seq;
+        do {
+            seq = tail.get();
+            if (seq - head.get() > mask) {
+                dropped.incrementAndGet();
+                return;
+            }
+        } while (!tail.compareAndSet(seq, seq + 1));
+
+        int slot = (int) seq & mask;
+        plants[slot] = plant;
+        types[slot] = (byte) type.ordinal();
+        values[slot] = value;
+        published.set(slot, seq);
+    }
+
+    /**
+     * Hands every published event to the target sink, oldest first.
+     * Must not be called from two threads at once
+     *
+     * @return Number of events drained
+     */
+    public int drain(PlantEventSink target) {
+        Objects.requireNonNull(target, "target");
+        long seq = head.get();
+        int count = 0;
+        while (published.get((int) seq & mask) == seq) {
+            int slot = (int) seq & mask;
+            Plant plant = plants[slot];
+            PlantEventType type = TYPES[types[slot]];
+            int value = values[slot];
+            plants[slot] = null;
+            head.set(++seq);
+            target.onEvent(plant, type, value);
+            count++;
+        }
+        return count;
+    }
+
+    public int getCapacity() {
+        return mask + 1;
+    }
+
+    /**
+     * @return Events recorded but not drained yet
+     */
+    public int size() {
+        return (int) (tail.get() - head.get());
+    }
+
+    /**
+     * @return Events lost because the ring was full
+     */
+    public long getDropped() {
+        return dropped.get();
+    }
+}
@@ -0,0 +1,26 @@
+/**
+ * PlantEventSink - Receives the events plants report while they grow and are cared for
+ * Events carry only primitive values, and text is produced by
+ * Plant.describeEvent() when a sink actually renders an event.
+ *
+ * Usage: Plant.setEventSink(PlantEventSink.NONE);
+ */
+@FunctionalInterface
+public interface PlantEventSink {
+
+    // Prints each event to the console, the game's default
+    PlantEventSink CONSOLE = (plant, type, value) -> System.out.println(plant.describeEvent(type, value));
+
+    // Discards every event, for batch runs and benchmarks
+    PlantEventSink NONE = (plant, type, value) -> {
+    };
+
+    /**
+     * Called on the thread that caused the event
+     *
+     * @param plant The plant the event happened to
+     * @param type  What happened
+     * @param value Value described by the event type
+     */
+    void onEvent(Plant plant, PlantEventType type, int value);
+}
@@ -0,0 +1,13 @@
+/**
+ * PlantEventType - Kinds of events a plant reports to its PlantEventSink
+ * Each event carries one int value, described below
+ */
+public enum PlantEventType {
+    NEEDS_WATER,      // value: water level after the cycle
+    NEEDS_SUNLIGHT,   // value: sunlight level after the cycle
+    GREW,             // value: new growth stage
+    WITHERED,         // value: growth stage reached before dying
+    NO_LONGER_ALIVE,  // value: growth stage reached before dying
+    WATERED,          // value: new water level
+    BASKED            // value: new sunlight level
+}
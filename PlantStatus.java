@@ -0,0 +1,146 @@
+import java.util.*;
+
+/**
+ * PlantStatus - Typed, reusable status of one plant
+ * Holds what Plant.getStatus() puts in its map, as primitives: one
+ * instance is filled again for every plant a caller looks at, so reading
+ * the status of a whole garden allocates nothing and boxes nothing.
+ * read() fills it from a Plant or from a PlantStore row; the thriving and
+ * needs-care flags are evaluated once per read. toMap() still produces the
+ * map for callers that want one.
+ *
+ * For a whole store at once, PlantStore.readStatus() fills primitive
+ * arrays instead.
+ *
+ * Usage:
+ * PlantStatus status = new PlantStatus();
+ * for (Plant plant : garden) {
+ *     if (status.read(plant).needsCare()) { ... }
+ * }
+ */
+public final class PlantStatus {
+
+    private int id = -1;
+    private SpeciesProfile species;
+    private String name;
+    private int health;
+    private int waterLevel;
+    private int sunlightLevel;
+    private int growthStage;
+    private boolean alive;
+    private boolean thriving;
+    private boolean needsCare;
+
+    /**
+     * Copies the status of a plant object
+     *
+     * @return This status
+     */
+    public PlantStatus read(Plant plant) {
+        id = -1;
+        species = plant.getProfile();
+        name = plant.getName();
+        health = plant.getHealth();
+        waterLevel = plant.getWaterLevel();
+        sunlightLevel = plant.getSunlightLevel();
+        growthStage = plant.getGrowthStage();
+        alive = plant.isAlive();
+        thriving = Plant.IS_THRIVING.test(plant);
+        needsCare = Plant.NEEDS_IMMEDIATE_CARE.test(plant);
+        return this;
+    }
+
+    /**
+     * Copies the status of one plant of a store
+     *
+     * @return This status
+     */
+    public PlantStatus read(PlantStore store, int id) {
+        int slot = store.slotOf(id);
+        this.id = id;
+        species = SpeciesProfile.byId(store.speciesColumn()[slot]);
+        name = species.getName();
+        health = store.healthColumn()[slot];
+        waterLevel = store.waterColumn()[slot];
+        sunlightLevel = store.sunlightColumn()[slot];
+        growthStage = store.growthStageColumn()[slot];
+        alive = (store.aliveBits()[slot >>> 6] & (1L << slot)) != 0;
+        thriving = Plant.IS_THRIVING.test(store, id);
+        needsCare = Plant.NEEDS_IMMEDIATE_CARE.test(store, id);
+        return this;
+    }
+
+    /**
+     * @return The status as Plant.getStatus() always returned it, boxed
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("name", name);
+        status.put("health", health);
+        status.put("waterLevel", waterLevel);
+        status.put("sunlightLevel", sunlightLevel);
+        status.put("growthStage", growthStage);
+        status.put("isAlive", alive);
+        status.put("isThriving", thriving);
+        status.put("needsCare", needsCare);
+        return status;
+    }
+
+    // ========== Getters ==========
+
+    /**
+     * @return Store id of the plant, or -1 if read from a plant object
+     */
+    public int getId() {
+        return id;
+    }
+
+    public SpeciesProfile getSpecies() {
+        return species;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getHealth() {
+        return health;
+    }
+
+    public int getWaterLevel() {
+        return waterLevel;
+    }
+
+    public int getSunlightLevel() {
+        return sunlightLevel;
+    }
+
+    public int getGrowthStage() {
+        return growthStage;
+    }
+
+    public boolean isAlive() {
+        return alive;
+    }
+
+    public boolean isThriving() {
+        return thriving;
+    }
+
+    public boolean needsCare() {
+        return needsCare;
+    }
+
+    @Override
+    public String toString() {
+        return name + " {" +
+                "health=" + health +
+                ", waterLevel=" + waterLevel +
+                ", sunlightLevel=" + sunlightLevel +
+                ", growthStage=" + growthStage +
+                ", isAlive=" + alive +
+                ", isThriving=" + thriving +
+                ", needsCare=" + needsCare +
+                '}';
+    }
+}
@@ -0,0 +1,900 @@
+import java.util.*;
+
+/**
+ * PlantStore - Columnar (struct-of-arrays) storage for large gardens
+ * Each plant is an index into parallel primitive arrays instead of a separate
+ * heap object, so a bulk tick walks memory sequentially. The per-plant
+ * arithmetic is the same as Plant.tick(), so against objects visited in
+ * allocation order the gain is only the headers and pointer loads saved; it
+ * is largest once the objects are scattered across the heap.
+ * The tick kernel applies exactly the same rules as Plant.tick(), including
+ * the season's modifiers from SeasonMatrix
+ *
+ * Dead plants never change again, so ticks only cover the active range
+ * [0, getActiveEnd()). compact() moves dead rows behind that range; ids
+ * stay stable because the store maps each id to its current row (slot).
+ *
+ * Changes to row values are reported to PlantStoreListeners, ticks and other
+ * bulk operations once per call, which is how SecondaryIndex stays current.
+ * While there are listeners, a bulk change also records which rows it
+ * altered, per attribute (changedBits), so listeners only revisit those.
+ */
+public class PlantStore {
+
+    // Kinds of change recorded per row by bulk changes, see changeBits()
+    static final int HEALTH_CHANGED = 0;
+    static final int WATER_CHANGED = 1;
+    static final int SUNLIGHT_CHANGED = 2;
+    static final int STAGE_CHANGED = 3;
+    static final int ALIVE_CHANGED = 4;
+    static final int CHANGE_KINDS = 5;
+
+    // Species ids, see SpeciesProfile
+    public static final byte POTATO = 0;
+    public static final byte MARIGOLD = 1;
+    public static final byte TOMATO = 2;
+    public static final byte CUCUMBER = 3;
+    public static final byte SUNFLOWER = 4;
+    public static final byte OTHER = 5; // SpeciesProfile.DEFAULT
+
+    // Columns - vitals are clamped to 0-100 so they fit in a byte
+    private byte[] health;
+    private byte[] waterLevel;
+    private byte[] sunlightLevel;
+    private int[] growthStage;
+    private byte[] species;
+    private long[] alive;
+
+    private int size;
+    private long tickCount;
+
+    // Told about every change to a row's values (copied on write)
+    private PlantStoreListener[] listeners = new PlantStoreListener[0];
+
+    // Rows the last bulk change altered, bits by slot: word w of rows has
+    // its CHANGE_KINDS words at [w * CHANGE_KINDS, (w + 1) * CHANGE_KINDS).
+    // Only filled while there are listeners
+    private long[] changes = new long[0];
+
+    // Bumped by every change to a row's values, so snapshots such as
+    // SecondaryIndex can tell that they are out of date
+    private long modificationCount;
+
+    // Rows at or past activeEnd are all dead
+    private int activeEnd;
+
+    // id <-> slot maps, created by the first compaction (until then id == slot)
+    private int[] idToSlot;
+    private int[] slotToId;
+
+    // Compact automatically once this share of the active range is dead (0 = never)
+    private double autoCompactFraction;
+    private int compactionCount;
+
+    // Season set by the caller, and the row read once at the start of each
+    // tick so every chunk of one tick sees the same season
+    private volatile SeasonMatrix.Row seasonRow = SeasonMatrix.NEUTRAL;
+    private SeasonMatrix.Row tickRow = SeasonMatrix.NEUTRAL;
+
+    /**
+     * Creates an empty store
+     *
+     * @param capacity Number of plants to reserve room for
+     */
+    public PlantStore(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("capacity must not be negative: " + capacity);
+        }
+        health = new byte[capacity];
+        waterLevel = new byte[capacity];
+        sunlightLevel = new byte[capacity];
+        growthStage = new int[capacity];
+        species = new byte[capacity];
+        alive = new long[(capacity + 63) >>> 6];
+    }
+
+    /**
+     * Copies the current state of a plant object into the store
+     *
+     * @param plant The plant to copy
+     * @return The id of the new row
+     */
+    public int add(Plant plant) {
+        return add(speciesOf(plant), plant.getHealth(), plant.getWaterLevel(),
+                plant.getSunlightLevel(), plant.getGrowthStage(), plant.isAlive());
+    }
+
+    /**
+     * Adds a plant row
+     *
+     * @return The id of the new row
+     */
+    public int add(int speciesId, int health, int water, int sunlight, int stage, boolean isAlive) {
+        if (size == this.health.length) {
+            grow();
+        }
+        modificationCount++;
+        int id = size++;
+        this.species[id] = (byte) speciesId;
+        this.health[id] = (byte) clamp(health);
+        this.waterLevel[id] = (byte) clamp(water);
+        this.sunlightLevel[id] = (byte) clamp(sunlight);
+        this.growthStage[id] = stage;
+        if (isAlive) {
+            alive[id >>> 6] |= 1L << id;
+            activeEnd = size;
+        }
+        if (idToSlot != null) {
+            idToSlot[id] = id;
+            slotToId[id] = id;
+        }
+        for (PlantStoreListener listener : listeners) {
+            listener.rowAdded(id);
+        }
+        return id;
+    }
+
+    /**
+     * Advances every plant by one growth cycle
+     */
+    public void tick() {
+        tickRow = seasonRow;
+        int end = activeEnd;
+        clearChanges(end);
+        tickRange(0, end);
+        rowsChanged(0, end);
+        afterTick();
+    }
+
+    /**
+     * Advances every plant by one growth cycle using the given kernel
+     *
+     * @param kernel Tick kernel, e.g. TickKernel.best()
+     */
+    public void tick(TickKernel kernel) {
+        tickRow = seasonRow;
+        int end = activeEnd;
+        long[] changes = clearChanges(end);
+        boolean guess = changes != null && !kernel.reportsChanges();
+        if (guess) {
+            // Any living row may change, and the alive bits tell which died
+            for (int w = 0, words = (end + 63) >>> 6; w < words; w++) {
+                Arrays.fill(changes, w * CHANGE_KINDS, (w + 1) * CHANGE_KINDS, alive[w]);
+            }
+        }
+        kernel.tickRange(this, 0, end);
+        if (guess) {
+            for (int w = 0, words = (end + 63) >>> 6; w < words; w++) {
+                changes[w * CHANGE_KINDS + ALIVE_CHANGED] &= ~alive[w];
+            }
+        }
+        rowsChanged(0, end);
+        afterTick();
+    }
+
+    /**
+     * Shrinks the active range past trailing dead rows and compacts when
+     * too many dead rows are left inside it
+     */
+    private void afterTick() {
+        tickCount++;
+        modificationCount++;
+        int lastWord = (activeEnd - 1) >> 6;
+        while (lastWord >= 0 && alive[lastWord] == 0) {
+            lastWord--;
+        }
+        activeEnd = lastWord < 0 ? 0 : (lastWord << 6) + 64 - Long.numberOfLeadingZeros(alive[lastWord]);
+
+        if (autoCompactFraction > 0 && activeEnd >= 64) {
+            int living = 0;
+            for (int w = 0; w <= lastWord; w++) {
+                living += Long.bitCount(alive[w]);
+            }
+            if (activeEnd - living > autoCompactFraction * activeEnd) {
+                compact();
+            }
+        }
+    }
+
+    /**
+     * Moves the dead rows of the active range behind the living ones,
+     * keeping both groups in their current order. Ids do not change.
+     *
+     * @return Number of dead rows moved out of the active range
+     */
+    public int compact() {
+        int end = activeEnd;
+        int living = 0;
+        for (int w = 0, words = (end + 63) >>> 6; w < words; w++) {
+            living += Long.bitCount(alive[w]);
+        }
+        int deadCount = end - living;
+        if (deadCount == 0) {
+            return 0;
+        }
+        if (idToSlot == null) {
+            idToSlot = new int[health.length];
+            slotToId = new int[health.length];
+            for (int i = 0; i < size; i++) {
+                idToSlot[i] = i;
+                slotToId[i] = i;
+            }
+        }
+
+        // Living rows slide forward in place, dead rows wait in side arrays
+        byte[] deadHealth = new byte[deadCount];
+        byte[] deadWater = new byte[deadCount];
+        byte[] deadSun = new byte[deadCount];
+        byte[] deadSpecies = new byte[deadCount];
+        int[] deadStage = new int[deadCount];
+        int[] deadIds = new int[deadCount];
+        int write = 0;
+        int dead = 0;
+        for (int slot = 0; slot < end; slot++) {
+            if ((alive[slot >>> 6] & (1L << slot)) != 0) {
+                moveRow(slot, write++);
+            } else {
+                deadHealth[dead] = health[slot];
+                deadWater[dead] = waterLevel[slot];
+                deadSun[dead] = sunlightLevel[slot];
+                deadSpecies[dead] = species[slot];
+                deadStage[dead] = growthStage[slot];
+                deadIds[dead++] = slotToId[slot];
+            }
+        }
+        System.arraycopy(deadHealth, 0, health, write, deadCount);
+        System.arraycopy(deadWater, 0, waterLevel, write, deadCount);
+        System.arraycopy(deadSun, 0, sunlightLevel, write, deadCount);
+        System.arraycopy(deadSpecies, 0, species, write, deadCount);
+        System.arraycopy(deadStage, 0, growthStage, write, deadCount);
+        System.arraycopy(deadIds, 0, slotToId, write, deadCount);
+        for (int slot = 0; slot < end; slot++) {
+            idToSlot[slotToId[slot]] = slot;
+        }
+
+        // Alive bits become a solid run of ones
+        Arrays.fill(alive, 0, (end + 63) >>> 6, 0L);
+        Arrays.fill(alive, 0, living >>> 6, -1L);
+        if ((living & 63) != 0) {
+            alive[living >>> 6] = (1L << living) - 1;
+        }
+
+        activeEnd = living;
+        compactionCount++;
+        return deadCount;
+    }
+
+    private void moveRow(int from, int to) {
+        if (from == to) {
+            return;
+        }
+        health[to] = health[from];
+        waterLevel[to] = waterLevel[from];
+        sunlightLevel[to] = sunlightLevel[from];
+        species[to] = species[from];
+        growthStage[to] = growthStage[from];
+        slotToId[to] = slotToId[from];
+    }
+
+    /**
+     * Turns on automatic compaction after ticks
+     *
+     * @param deadFraction Compact once more than this share of the active
+     *                     range is dead, between 0 (never) and 1
+     */
+    public void setAutoCompaction(double deadFraction) {
+        if (!(deadFraction >= 0 && deadFraction <= 1)) {
+            throw new IllegalArgumentException("deadFraction must be between 0 and 1: " + deadFraction);
+        }
+        this.autoCompactFraction = deadFraction;
+    }
+
+    /**
+     * Tick kernel - same rules as Plant.tick() applied to rows [from, to).
+     * Walks the alive bitset a word at a time so dead plants are skipped
+     * 64 at a time, and uses branch-free arithmetic for the per-plant rules
+     * because random vitals make ordinary branches unpredictable
+     */
+    void tickRange(int from, int to) {
+        if (from >= to) {
+            return;
+        }
+        if (!tickRow.isNeutral()) {
+            tickRangeSeasonal(from, to, tickRow);
+            return;
+        }
+        byte[] health = this.health;
+        byte[] water = this.waterLevel;
+        byte[] sun = this.sunlightLevel;
+        int[] stage = this.growthStage;
+        long[] alive = this.alive;
+        long[] changes = changeBits();
+
+        int lastWord = (to - 1) >>> 6;
+        for (int wordIndex = from >>> 6; wordIndex <= lastWord; wordIndex++) {
+            long bits = alive[wordIndex];
+            if (wordIndex == from >>> 6) {
+                bits &= -1L << from;
+            }
+            if (wordIndex == lastWord) {
+                bits &= -1L >>> -to;
+            }
+            long died = 0;
+            long grew = 0;
+            long healthChanged = 0;
+            long waterChanged = 0;
+            long sunChanged = 0;
+            while (bits != 0) {
+                int bit = Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                int i = (wordIndex << 6) | bit;
+
+                int h0 = health[i];
+                int w0 = water[i];
+                int s0 = sun[i];
+
+                // Critical needs: -10 for each level below 20, dies at 0
+                int h = h0 - (((w0 - 20) >>> 31) + ((s0 - 20) >>> 31)) * 10;
+                int dead = (h - 1) >>> 31;
+                h &= dead - 1;
+                died |= (long) dead << bit;
+
+                // Resource decay
+                int w = Math.max(0, w0 - 5);
+                int s = Math.max(0, s0 - 3);
+
+                // CAN_GROW: water > 30 && sunlight > 30 && health > 50
+                int grows = ((30 - w) & (30 - s) & (50 - h)) >>> 31;
+                stage[i] += grows;
+
+                // UPDATE_HEALTH_STATUS
+                h = Math.min(100, h + ((w >> 1) + s / 3) / 10);
+                health[i] = (byte) h;
+                water[i] = (byte) w;
+                sun[i] = (byte) s;
+
+                if (changes != null) {
+                    grew |= (long) grows << bit;
+                    healthChanged |= (long) (-(h ^ h0) >>> 31) << bit;
+                    waterChanged |= (long) (-(w ^ w0) >>> 31) << bit;
+                    sunChanged |= (long) (-(s ^ s0) >>> 31) << bit;
+                }
+            }
+            alive[wordIndex] &= ~died;
+            if (changes != null) {
+                recordChanges(changes, wordIndex, healthChanged, waterChanged, sunChanged, grew, died);
+            }
+        }
+    }
+
+    /**
+     * tickRange() with the decay and growth threshold of each row's species
+     * taken from a season's modifiers
+     */
+    private void tickRangeSeasonal(int from, int to, SeasonMatrix.Row row) {
+        byte[] health = this.health;
+        byte[] water = this.waterLevel;
+        byte[] sun = this.sunlightLevel;
+        int[] stage = this.growthStage;
+        byte[] species = this.species;
+        long[] alive = this.alive;
+        int[] waterDecay = row.waterDecay;
+        int[] sunlightDecay = row.sunlightDecay;
+        int[] growHealth = row.growHealth;
+        long[] changes = changeBits();
+
+        int lastWord = (to - 1) >>> 6;
+        for (int wordIndex = from >>> 6; wordIndex <= lastWord; wordIndex++) {
+            long bits = alive[wordIndex];
+            if (wordIndex == from >>> 6) {
+                bits &= -1L << from;
+            }
+            if (wordIndex == lastWord) {
+                bits &= -1L >>> -to;
+            }
+            long died = 0;
+            long grew = 0;
+            long healthChanged = 0;
+            long waterChanged = 0;
+            long sunChanged = 0;
+            while (bits != 0) {
+                int bit = Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                int i = (wordIndex << 6) | bit;
+                int sp = species[i];
+
+                int h0 = health[i];
+                int w0 = water[i];
+                int s0 = sun[i];
+
+                int h = h0 - (((w0 - 20) >>> 31) + ((s0 - 20) >>> 31)) * 10;
+                int dead = (h - 1) >>> 31;
+                h &= dead - 1;
+                died |= (long) dead << bit;
+
+                int w = Math.max(0, w0 - waterDecay[sp]);
+                int s = Math.max(0, s0 - sunlightDecay[sp]);
+
+                int grows = ((30 - w) & (30 - s) & (growHealth[sp] - h)) >>> 31;
+                stage[i] += grows;
+
+                h = Math.min(100, h + ((w >> 1) + s / 3) / 10);
+                health[i] = (byte) h;
+                water[i] = (byte) w;
+                sun[i] = (byte) s;
+
+                if (changes != null) {
+                    grew |= (long) grows << bit;
+                    healthChanged |= (long) (-(h ^ h0) >>> 31) << bit;
+                    waterChanged |= (long) (-(w ^ w0) >>> 31) << bit;
+                    sunChanged |= (long) (-(s ^ s0) >>> 31) << bit;
+                }
+            }
+            alive[wordIndex] &= ~died;
+            if (changes != null) {
+                recordChanges(changes, wordIndex, healthChanged, waterChanged, sunChanged, grew, died);
+            }
+        }
+    }
+
+    private void grow() {
+        int capacity = Math.max(16, health.length + (health.length >> 1));
+        health = Arrays.copyOf(health, capacity);
+        waterLevel = Arrays.copyOf(waterLevel, capacity);
+        sunlightLevel = Arrays.copyOf(sunlightLevel, capacity);
+        growthStage = Arrays.copyOf(growthStage, capacity);
+        species = Arrays.copyOf(species, capacity);
+        alive = Arrays.copyOf(alive, (capacity + 63) >>> 6);
+        if (idToSlot != null) {
+            idToSlot = Arrays.copyOf(idToSlot, capacity);
+            slotToId = Arrays.copyOf(slotToId, capacity);
+        }
+    }
+
+    private static int clamp(int value) {
+        return Math.min(100, Math.max(0, value));
+    }
+
+    /**
+     * Maps a plant object to its species id
+     */
+    public static byte speciesOf(Plant plant) {
+        return plant.getProfile().getId();
+    }
+
+    // ========== Bulk care (numbers from SpeciesProfile) ==========
+
+    /**
+     * Waters every plant, like calling water() on each plant object
+     */
+    public void waterAll() {
+        modificationCount++;
+        markBelowFull(waterLevel, WATER_CHANGED);
+        addPerSpecies(waterLevel, SpeciesProfile.WATER_AMOUNT);
+        rowsChanged(0, size);
+    }
+
+    /**
+     * Gives every plant sunlight, like calling bask() on each plant object
+     */
+    public void baskAll() {
+        modificationCount++;
+        markBelowFull(sunlightLevel, SUNLIGHT_CHANGED);
+        addPerSpecies(sunlightLevel, SpeciesProfile.SUNLIGHT_AMOUNT);
+        rowsChanged(0, size);
+    }
+
+    // Every species gets a positive amount, so exactly the rows below 100 change
+    private void markBelowFull(byte[] column, int kind) {
+        long[] changes = clearChanges(size);
+        if (changes == null) {
+            return;
+        }
+        for (int w = 0, base = 0; base < size; w++, base += 64) {
+            long bits = 0;
+            for (int j = 0, n = Math.min(64, size - base); j < n; j++) {
+                bits |= (long) ((column[base + j] - 100) >>> 31) << j;
+            }
+            changes[w * CHANGE_KINDS + kind] = bits;
+        }
+    }
+
+    // column[i] += amount[species[i]], clamped to 100
+    private void addPerSpecies(byte[] column, int[] amount) {
+        byte[] species = this.species;
+        for (int i = 0, n = size; i < n; i++) {
+            column[i] = (byte) Math.min(100, column[i] + amount[species[i]]);
+        }
+    }
+
+    public void water(int id) {
+        int slot = slot(id);
+        modificationCount++;
+        waterLevel[slot] = (byte) Math.min(100, waterLevel[slot] + SpeciesProfile.WATER_AMOUNT[species[slot]]);
+        valueChanged(id, PlantAttribute.WATER_LEVEL);
+    }
+
+    public void bask(int id) {
+        int slot = slot(id);
+        modificationCount++;
+        sunlightLevel[slot] = (byte) Math.min(100, sunlightLevel[slot] + SpeciesProfile.SUNLIGHT_AMOUNT[species[slot]]);
+        valueChanged(id, PlantAttribute.SUNLIGHT_LEVEL);
+    }
+
+    /**
+     * @return True if the plant has reached its species' harvest stage
+     */
+    public boolean isHarvestable(int id) {
+        int slot = slot(id);
+        return growthStage[slot] >= SpeciesProfile.HARVEST_STAGE[species[slot]];
+    }
+
+    /**
+     * @return Number of plants that have reached their species' harvest stage
+     */
+    public int countHarvestable() {
+        byte[] species = this.species;
+        int[] stage = this.growthStage;
+        int count = 0;
+        for (int i = 0, n = size; i < n; i++) {
+            count += (SpeciesProfile.HARVEST_STAGE[species[i]] - 1 - stage[i]) >>> 31;
+        }
+        return count;
+    }
+
+    // ========== Row accessors (same clamping as Plant) ==========
+
+    public int size() {
+        return size;
+    }
+
+    public long getTickCount() {
+        return tickCount;
+    }
+
+    /**
+     * @return Counter that changes whenever any row's values change (ticks,
+     *         care, setters and new rows; not compaction, which keeps ids)
+     */
+    public long getModificationCount() {
+        return modificationCount;
+    }
+
+    public int getSpecies(int id) {
+        return species[slot(id)];
+    }
+
+    public int getHealth(int id) {
+        return health[slot(id)];
+    }
+
+    public void setHealth(int id, int value) {
+        health[slot(id)] = (byte) clamp(value);
+        modificationCount++;
+        valueChanged(id, PlantAttribute.HEALTH);
+    }
+
+    public int getWaterLevel(int id) {
+        return waterLevel[slot(id)];
+    }
+
+    public void setWaterLevel(int id, int value) {
+        waterLevel[slot(id)] = (byte) clamp(value);
+        modificationCount++;
+        valueChanged(id, PlantAttribute.WATER_LEVEL);
+    }
+
+    public int getSunlightLevel(int id) {
+        return sunlightLevel[slot(id)];
+    }
+
+    public void setSunlightLevel(int id, int value) {
+        sunlightLevel[slot(id)] = (byte) clamp(value);
+        modificationCount++;
+        valueChanged(id, PlantAttribute.SUNLIGHT_LEVEL);
+    }
+
+    public int getGrowthStage(int id) {
+        return growthStage[slot(id)];
+    }
+
+    public boolean isAlive(int id) {
+        int slot = slot(id);
+        return (alive[slot >>> 6] & (1L << slot)) != 0;
+    }
+
+    /**
+     * @return End of the rows that ticks visit; every row past it is dead
+     */
+    public int getActiveEnd() {
+        return activeEnd;
+    }
+
+    public int getCompactionCount() {
+        return compactionCount;
+    }
+
+    /**
+     * Applies a season's growth modifiers from the next tick on
+     *
+     * @param season The season, or null for the base rules
+     */
+    public void setSeason(Season season) {
+        seasonRow = SeasonMatrix.of(season);
+    }
+
+    /**
+     * @return The season set for the next tick, or null for the base rules
+     */
+    public Season getSeason() {
+        return seasonRow.getSeason();
+    }
+
+    /**
+     * @return True while the tick in progress follows the base Plant.tick()
+     *         rules, which precomputed kernels such as TransitionTable and
+     *         the vector lanes depend on
+     */
+    public boolean usesBaseRules() {
+        return tickRow.isNeutral();
+    }
+
+    /**
+     * @return Number of living plants
+     */
+    public int getAliveCount() {
+        int count = 0;
+        for (long word : alive) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * Status of one row, with the same keys as Plant.getStatus()
+     */
+    public Map<String, Object> getStatus(int id) {
+        return new PlantStatus().read(this, id).toMap();
+    }
+
+    /**
+     * Copies the status of every plant into arrays indexed by id, the bulk
+     * form of PlantStatus.read(). Pass null for fields that are not needed;
+     * the others must hold at least size() elements. The flags come from
+     * column scans of Plant.IS_THRIVING and Plant.NEEDS_IMMEDIATE_CARE,
+     * 64 rows at a time. Allocates nothing
+     *
+     * @return Number of plants copied, size()
+     */
+    public int readStatus(byte[] speciesIds, byte[] health, byte[] water, byte[] sunlight, int[] stage,
+            boolean[] isAlive, boolean[] isThriving, boolean[] needsCare) {
+        int rows = size;
+        copyById(species, speciesIds, rows);
+        copyById(this.health, health, rows);
+        copyById(waterLevel, water, rows);
+        copyById(sunlightLevel, sunlight, rows);
+        if (stage != null) {
+            checkLength(stage.length, rows);
+            for (int slot = 0; slot < rows; slot++) {
+                stage[slotToId == null ? slot : slotToId[slot]] = growthStage[slot];
+            }
+        }
+        copyBitsById(null, alive, isAlive, rows);
+        copyBitsById(Plant.IS_THRIVING, null, isThriving, rows);
+        copyBitsById(Plant.NEEDS_IMMEDIATE_CARE, null, needsCare, rows);
+        return rows;
+    }
+
+    private void copyById(byte[] column, byte[] into, int rows) {
+        if (into == null) {
+            return;
+        }
+        checkLength(into.length, rows);
+        if (slotToId == null) {
+            System.arraycopy(column, 0, into, 0, rows);
+            return;
+        }
+        for (int slot = 0; slot < rows; slot++) {
+            into[slotToId[slot]] = column[slot];
+        }
+    }
+
+    // Bits from words, or from the condition one word at a time, so nothing is allocated
+    private void copyBitsById(PlantCondition condition, long[] words, boolean[] into, int rows) {
+        if (into == null) {
+            return;
+        }
+        checkLength(into.length, rows);
+        for (int w = 0, base = 0; base < rows; w++, base += 64) {
+            long bits = condition != null ? condition.scanWord(this, w, rows) : words[w];
+            for (int slot = base, end = Math.min(rows, base + 64); slot < end; slot++) {
+                into[slotToId == null ? slot : slotToId[slot]] = (bits & (1L << slot)) != 0;
+            }
+        }
+    }
+
+    private static void checkLength(int length, int rows) {
+        if (length < rows) {
+            throw new IllegalArgumentException("Array holds " + length + " elements, store has " + rows + " plants");
+        }
+    }
+
+    // ========== Listeners ==========
+
+    /**
+     * Registers a listener for changes to row values
+     */
+    public void addListener(PlantStoreListener listener) {
+        Objects.requireNonNull(listener, "listener");
+        listeners = Arrays.copyOf(listeners, listeners.length + 1);
+        listeners[listeners.length - 1] = listener;
+    }
+
+    public void removeListener(PlantStoreListener listener) {
+        for (int i = 0; i < listeners.length; i++) {
+            if (listeners[i] == listener) {
+                PlantStoreListener[] remaining = new PlantStoreListener[listeners.length - 1];
+                System.arraycopy(listeners, 0, remaining, 0, i);
+                System.arraycopy(listeners, i + 1, remaining, i, remaining.length - i);
+                listeners = remaining;
+                return;
+            }
+        }
+    }
+
+    private void rowChanged(int id) {
+        for (PlantStoreListener listener : listeners) {
+            listener.rowChanged(id);
+        }
+    }
+
+    private void valueChanged(int id, PlantAttribute attribute) {
+        for (PlantStoreListener listener : listeners) {
+            listener.valueChanged(id, attribute);
+        }
+    }
+
+    private void rowsChanged(int fromSlot, int toSlot) {
+        for (PlantStoreListener listener : listeners) {
+            listener.rowsChanged(fromSlot, toSlot);
+        }
+    }
+
+    /**
+     * Rows of word w whose value of the attribute the last bulk change
+     * altered, bit j for row (w << 6) + j. Valid inside
+     * PlantStoreListener.rowsChanged() for the rows it reports
+     */
+    long changedBits(PlantAttribute attribute, int w) {
+        switch (attribute) {
+            case HEALTH:
+                return changes[w * CHANGE_KINDS + HEALTH_CHANGED];
+            case WATER_LEVEL:
+                return changes[w * CHANGE_KINDS + WATER_CHANGED];
+            case SUNLIGHT_LEVEL:
+                return changes[w * CHANGE_KINDS + SUNLIGHT_CHANGED];
+            case GROWTH_STAGE:
+                return changes[w * CHANGE_KINDS + STAGE_CHANGED];
+            case ALIVE:
+                return changes[w * CHANGE_KINDS + ALIVE_CHANGED];
+            default:
+                return 0; // A row's species never changes
+        }
+    }
+
+    /**
+     * Where tick kernels record the rows they alter, with recordChanges(),
+     * or null while no listener reads them. Kernels only add bits, so two
+     * kernels may share a word of rows
+     */
+    long[] changeBits() {
+        return listeners.length == 0 ? null : changes;
+    }
+
+    static void recordChanges(long[] changes, int w, long health, long water, long sunlight, long stage,
+            long died) {
+        int at = w * CHANGE_KINDS;
+        changes[at + HEALTH_CHANGED] |= health;
+        changes[at + WATER_CHANGED] |= water;
+        changes[at + SUNLIGHT_CHANGED] |= sunlight;
+        changes[at + STAGE_CHANGED] |= stage;
+        changes[at + ALIVE_CHANGED] |= died;
+    }
+
+    // Empties the change bits of rows [0, rows) before a bulk change
+    private long[] clearChanges(int rows) {
+        if (listeners.length == 0) {
+            return null;
+        }
+        int length = ((rows + 63) >>> 6) * CHANGE_KINDS;
+        if (changes.length < length) {
+            changes = new long[Math.max(length, ((health.length + 63) >>> 6) * CHANGE_KINDS)];
+        } else {
+            Arrays.fill(changes, 0, length, 0);
+        }
+        return changes;
+    }
+
+    /**
+     * @return Id of the plant stored in a row (the two differ after compact())
+     */
+    public int getIdAt(int slot) {
+        Objects.checkIndex(slot, size);
+        return slotToId == null ? slot : slotToId[slot];
+    }
+
+    // ========== Raw columns for tick kernels ==========
+
+    byte[] healthColumn() {
+        return health;
+    }
+
+    byte[] waterColumn() {
+        return waterLevel;
+    }
+
+    byte[] sunlightColumn() {
+        return sunlightLevel;
+    }
+
+    int[] growthStageColumn() {
+        return growthStage;
+    }
+
+    byte[] speciesColumn() {
+        return species;
+    }
+
+    long[] aliveBits() {
+        return alive;
+    }
+
+    /**
+     * @return Row that holds the plant with this id
+     */
+    int slotOf(int id) {
+        return slot(id);
+    }
+
+    /**
+     * @return Id of the plant in each row, or null while every id is its own row
+     */
+    int[] slotToIdMap() {
+        return slotToId;
+    }
+
+    /**
+     * Copies the whole state of a store built from the same plants, ids included
+     */
+    void restoreFrom(PlantStore source) {
+        if (source.size != size) {
+            throw new IllegalArgumentException("Stores differ in size: " + source.size + " vs " + size);
+        }
+        System.arraycopy(source.health, 0, health, 0, size);
+        System.arraycopy(source.waterLevel, 0, waterLevel, 0, size);
+        System.arraycopy(source.sunlightLevel, 0, sunlightLevel, 0, size);
+        System.arraycopy(source.species, 0, species, 0, size);
+        System.arraycopy(source.growthStage, 0, growthStage, 0, size);
+        System.arraycopy(source.alive, 0, alive, 0, (size + 63) >>> 6);
+        idToSlot = source.idToSlot == null ? null : Arrays.copyOf(source.idToSlot, health.length);
+        slotToId = source.slotToId == null ? null : Arrays.copyOf(source.slotToId, health.length);
+        activeEnd = source.activeEnd;
+        modificationCount++;
+        // Ids may sit in other rows now, so every row counts as changed
+        long[] changes = clearChanges(size);
+        if (changes != null) {
+            Arrays.fill(changes, -1L);
+        }
+        rowsChanged(0, size);
+    }
+
+    // Row of an id
+    private int slot(int id) {
+        checkId(id);
+        return idToSlot == null ? id : idToSlot[id];
+    }
+
+    private int checkId(int id) {
+        return Objects.checkIndex(id, size);
+    }
+}
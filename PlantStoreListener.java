@@ -0,0 +1,36 @@
+/**
+ * PlantStoreListener - Told when the values in a PlantStore change
+ * Single-row changes (setters, water(id), bask(id)) are reported one id at a
+ * time, naming the attribute that changed. Bulk changes (ticks, waterAll,
+ * baskAll) are reported once per call as a range of rows, so a listener can
+ * catch up in one pass instead of receiving a call per plant.
+ *
+ * Listeners run on the thread that changed the store, after the change.
+ */
+public interface PlantStoreListener {
+
+    /**
+     * A new row was added with this id
+     */
+    void rowAdded(int id);
+
+    /**
+     * Values of the plant with this id may have changed
+     */
+    void rowChanged(int id);
+
+    /**
+     * One value of the plant with this id may have changed. Listeners that
+     * care which one override this; by default it is a rowChanged()
+     */
+    default void valueChanged(int id, PlantAttribute attribute) {
+        rowChanged(id);
+    }
+
+    /**
+     * Values in rows [fromSlot, toSlot) may have changed; during this call
+     * PlantStore.changedBits() tells which rows did. Rows are storage
+     * positions, not ids; PlantStore.getIdAt(slot) maps one to the other
+     */
+    void rowsChanged(int fromSlot, int toSlot);
+}
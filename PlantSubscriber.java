@@ -0,0 +1,35 @@
+/**
+ * PlantSubscriber - Told when plants start or stop matching a condition
+ * Registered with PlantSubscriptions.subscribe(). Calls arrive on the
+ * delivery thread that the PlantSubscriptions shares between its
+ * subscribers, in the order the changes happened, never on the thread that
+ * ticks the store. A call that blocks holds up the other subscribers too.
+ *
+ * Usage:
+ * subscriptions.subscribe(Plant.NEEDS_IMMEDIATE_CARE, new PlantSubscriber() {
+ *     public void entered(int id) { alerts.add(id); }
+ *     public void exited(int id) { alerts.remove(id); }
+ *     public void resync(int[] ids) { alerts.clear(); for (int id : ids) alerts.add(id); }
+ * });
+ */
+public interface PlantSubscriber {
+
+    /**
+     * The plant with this id started matching the condition
+     */
+    void entered(int id);
+
+    /**
+     * The plant with this id stopped matching the condition
+     */
+    void exited(int id);
+
+    /**
+     * The subscriber fell behind and transitions were lost when its queue
+     * filled up. Replaces what earlier calls said: these are the plants
+     * that match now, and later calls continue from here
+     *
+     * @param ids Every matching id, ascending
+     */
+    void resync(int[] ids);
+}
@@ -0,0 +1,426 @@
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * PlantSubscriptions - Continuous queries over one PlantStore
+ * Each subscription pairs a PlantCondition with a PlantSubscriber and
+ * reports the plants that start or stop matching.
+ *
+ * Transitions are found on the thread that changes the store, while it
+ * changes it: a bulk change such as a tick re-evaluates only the rows it
+ * changed in the attributes the condition reads (see ConditionMatches), and
+ * a single-row change re-tests that row. Only the flipped ids are queued.
+ *
+ * Each subscription has a bounded queue, and one daemon thread shared by
+ * all subscriptions calls the subscribers. Queuing never blocks: when a
+ * slow subscriber lets its queue fill up, its further transitions are
+ * dropped and counted, and the tick goes on. The subscriber then gets
+ * resync() with the current matches once it has worked through its queue,
+ * and transitions resume after that.
+ *
+ * subscribe() and close() must be called on the thread that changes the
+ * store, like the store's own methods.
+ *
+ * Usage:
+ * PlantSubscriptions subscriptions = new PlantSubscriptions(store);
+ * subscriptions.subscribe(Plant.IS_READY_TO_HARVEST, harvestAlerts);
+ * store.tick();   // harvestAlerts.entered(id) follows for each newly ripe plant
+ */
+public class PlantSubscriptions implements PlantStoreListener {
+
+    // 64K transitions (256 KB) per subscription unless asked otherwise
+    public static final int DEFAULT_QUEUE_CAPACITY = 1 << 16;
+
+    // Calls made for one subscriber before the delivery thread moves on
+    private static final int DELIVERY_BATCH = 256;
+
+    private final PlantStore store;
+
+    // Written by the store's thread, read by the delivery thread
+    private volatile Subscription[] subscriptions = new Subscription[0];
+    private volatile boolean running = true;
+    private Thread deliveryThread;
+
+    /**
+     * Starts following the store
+     */
+    public PlantSubscriptions(PlantStore store) {
+        this.store = Objects.requireNonNull(store, "store");
+        store.addListener(this);
+    }
+
+    /**
+     * Reports transitions from now on; plants that already match produce
+     * no entered() call. The queue holds DEFAULT_QUEUE_CAPACITY transitions
+     */
+    public Subscription subscribe(PlantCondition condition, PlantSubscriber subscriber) {
+        return subscribe(condition, subscriber, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    /**
+     * @param queueCapacity Transitions that may wait for the subscriber, a power of two
+     */
+    public Subscription subscribe(PlantCondition condition, PlantSubscriber subscriber, int queueCapacity) {
+        if (!running) {
+            throw new IllegalStateException("Subscriptions are closed");
+        }
+        Subscription subscription = new Subscription(this, condition, subscriber, queueCapacity);
+        Subscription[] grown = Arrays.copyOf(subscriptions, subscriptions.length + 1);
+        grown[grown.length - 1] = subscription;
+        subscriptions = grown;
+        if (deliveryThread == null) {
+            deliveryThread = new Thread(this::deliver, "plant-subscriptions");
+            deliveryThread.setDaemon(true);
+            deliveryThread.start();
+        }
+        return subscription;
+    }
+
+    private void unsubscribe(Subscription subscription) {
+        Subscription[] current = subscriptions;
+        for (int i = 0; i < current.length; i++) {
+            if (current[i] == subscription) {
+                Subscription[] remaining = new Subscription[current.length - 1];
+                System.arraycopy(current, 0, remaining, 0, i);
+                System.arraycopy(current, i + 1, remaining, i, remaining.length - i);
+                subscriptions = remaining;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Closes every subscription, stops following the store and ends the
+     * delivery thread
+     */
+    public void close() {
+        for (Subscription subscription : subscriptions) {
+            subscription.close();
+        }
+        store.removeListener(this);
+        running = false;
+        wakeDelivery();
+    }
+
+    public List<Subscription> getSubscriptions() {
+        return Collections.unmodifiableList(Arrays.asList(subscriptions));
+    }
+
+    public PlantStore getStore() {
+        return store;
+    }
+
+    // ========== PlantStoreListener ==========
+
+    @Override
+    public void rowAdded(int id) {
+        for (Subscription subscription : subscriptions) {
+            subscription.rowAdded(id);
+        }
+    }
+
+    @Override
+    public void rowChanged(int id) {
+        for (Subscription subscription : subscriptions) {
+            subscription.rowChanged(id);
+        }
+    }
+
+    @Override
+    public void rowsChanged(int fromSlot, int toSlot) {
+        for (Subscription subscription : subscriptions) {
+            subscription.rowsChanged(fromSlot, toSlot);
+        }
+    }
+
+    // ========== Delivery ==========
+
+    private void wakeDelivery() {
+        Thread thread = deliveryThread;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    /**
+     * Delivery thread: takes turns over the subscriptions, a batch of calls
+     * each, and parks once none has anything queued
+     */
+    private void deliver() {
+        while (running) {
+            boolean delivered = false;
+            for (Subscription subscription : subscriptions) {
+                delivered |= subscription.deliver(DELIVERY_BATCH);
+            }
+            if (!delivered) {
+                LockSupport.park(this);
+            }
+        }
+    }
+
+    // ========== Subscriptions ==========
+
+    /**
+     * One condition, its subscriber, and the queue between them
+     */
+    public static final class Subscription {
+
+        private final PlantSubscriptions owner;
+        private final PlantCondition condition;
+        private final PlantSubscriber subscriber;
+
+        // Matches by id as of the last change, used by the store's thread only
+        private final ConditionMatches matches;
+        private final ConditionMatches.Flips flips = (id, match) -> publish(match ? id : ~id);
+
+        // Single-producer, single-consumer ring: id for entered, ~id for exited
+        private final int[] queue;
+        private final int mask;
+        private final AtomicLong tail = new AtomicLong();
+        private final AtomicLong head = new AtomicLong();
+
+        // Store's thread only: next sequence to write, head as last read,
+        // whether transitions are being dropped, and the resync posted for that
+        private long nextTail;
+        private long knownHead;
+        private boolean overflowed;
+        private Resync posted;
+
+        // Matches to hand to resync() once the queue is delivered up to its sequence
+        private final AtomicReference<Resync> resync = new AtomicReference<>();
+
+        // Threads in awaitDelivery()
+        private final Queue<Thread> waiters = new ConcurrentLinkedQueue<>();
+
+        // Written by one thread each, so plain increments are safe
+        private volatile long transitions;
+        private volatile long dropped;
+        private volatile long resyncs;
+        private volatile long failures;
+        private volatile boolean open = true;
+
+        private Subscription(PlantSubscriptions owner, PlantCondition condition, PlantSubscriber subscriber,
+                int queueCapacity) {
+            if (queueCapacity <= 0 || Integer.bitCount(queueCapacity) != 1) {
+                throw new IllegalArgumentException("queueCapacity must be a positive power of two: " + queueCapacity);
+            }
+            this.owner = owner;
+            this.condition = Objects.requireNonNull(condition, "condition");
+            this.subscriber = Objects.requireNonNull(subscriber, "subscriber");
+            this.queue = new int[queueCapacity];
+            this.mask = queueCapacity - 1;
+            this.matches = new ConditionMatches(owner.store, condition);
+        }
+
+        // ========== Detection (store's thread) ==========
+
+        private void rowAdded(int id) {
+            if (matches.rowAdded(id, flips)) {
+                transitions++;
+                flush();
+            }
+        }
+
+        private void rowChanged(int id) {
+            if (matches.rowChanged(id, flips)) {
+                transitions++;
+                flush();
+            }
+        }
+
+        private void rowsChanged(int fromSlot, int toSlot) {
+            int count = matches.rowsChanged(fromSlot, toSlot, flips);
+            if (count > 0) {
+                transitions += count;
+                flush();
+            }
+        }
+
+        // Queues one transition; nothing is visible to the delivery thread until flush()
+        private void publish(int event) {
+            if (overflowed) {
+                if (posted == null || resync.get() != null) {
+                    dropped++;
+                    return;
+                }
+                // The resync was delivered, so transitions resume
+                overflowed = false;
+                posted = null;
+            }
+            if (nextTail - knownHead > mask) {
+                knownHead = head.get();
+                if (nextTail - knownHead > mask) {
+                    dropped++;
+                    overflowed = true;
+                    return;
+                }
+            }
+            queue[(int) nextTail & mask] = event;
+            nextTail++;
+        }
+
+        private void flush() {
+            if (overflowed) {
+                // Replaces any resync not yet delivered: these matches are newer
+                posted = new Resync(matches.ids(), nextTail);
+                resync.set(posted);
+            }
+            tail.lazySet(nextTail);
+            owner.wakeDelivery();
+        }
+
+        // ========== Delivery (shared delivery thread) ==========
+
+        /**
+         * Makes up to max subscriber calls
+         *
+         * @return True if any call was made
+         */
+        private boolean deliver(int max) {
+            long seq = head.get();
+            long end = Math.min(tail.get(), seq + max);
+            boolean delivered = seq < end;
+            for (; seq < end && open; seq++) {
+                int event = queue[(int) seq & mask];
+                try {
+                    if (event >= 0) {
+                        subscriber.entered(event);
+                    } else {
+                        subscriber.exited(~event);
+                    }
+                } catch (RuntimeException e) {
+                    failures++; // One bad call must not end delivery
+                }
+                head.lazySet(seq + 1);
+            }
+            Resync pending = resync.get();
+            if (pending != null && pending.seq == seq && open && resync.compareAndSet(pending, null)) {
+                try {
+                    subscriber.resync(pending.ids);
+                } catch (RuntimeException e) {
+                    failures++;
+                }
+                resyncs++;
+                delivered = true;
+            }
+            if (delivered) {
+                head.set(seq); // Ordered before the waiters are read
+                if (seq == tail.get()) {
+                    wakeWaiters();
+                }
+            }
+            return delivered;
+        }
+
+        private void wakeWaiters() {
+            for (Thread waiter : waiters) {
+                LockSupport.unpark(waiter);
+            }
+        }
+
+        /**
+         * Waits until the subscriber has been handed every queued transition
+         * and any pending resync
+         *
+         * @return False if the wait timed out or the subscription is closed
+         */
+        public boolean awaitDelivery(long timeoutMillis) throws InterruptedException {
+            long deadline = System.nanoTime() + timeoutMillis * 1_000_000;
+            Thread current = Thread.currentThread();
+            waiters.add(current);
+            try {
+                while (head.get() != tail.get() || resync.get() != null) {
+                    long remaining = deadline - System.nanoTime();
+                    if (!open || remaining <= 0) {
+                        return false;
+                    }
+                    LockSupport.parkNanos(this, remaining);
+                    if (Thread.interrupted()) {
+                        throw new InterruptedException();
+                    }
+                }
+                return true;
+            } finally {
+                waiters.remove(current);
+            }
+        }
+
+        /**
+         * Stops detection and delivery; transitions still queued are discarded
+         */
+        public void close() {
+            if (open) {
+                open = false;
+                owner.unsubscribe(this);
+                wakeWaiters();
+            }
+        }
+
+        public PlantCondition getCondition() {
+            return condition;
+        }
+
+        /**
+         * @return Transitions detected so far, delivered or not
+         */
+        public long getTransitions() {
+            return transitions;
+        }
+
+        /**
+         * @return Transitions lost because the queue was full
+         */
+        public long getDropped() {
+            return dropped;
+        }
+
+        /**
+         * @return resync() calls made after transitions were dropped
+         */
+        public long getResyncs() {
+            return resyncs;
+        }
+
+        /**
+         * @return Transitions queued but not yet handed to the subscriber
+         */
+        public int getPending() {
+            return (int) (tail.get() - head.get());
+        }
+
+        /**
+         * @return Subscriber calls that threw
+         */
+        public long getFailures() {
+            return failures;
+        }
+
+        public boolean isOpen() {
+            return open;
+        }
+
+        @Override
+        public String toString() {
+            return "Subscription{" + condition + ", " + transitions + " transitions, " + dropped
+                    + " dropped}";
+        }
+    }
+
+    /**
+     * The matches after an overflow, for resync() once the subscriber has
+     * been handed the first seq queued transitions
+     */
+    private static final class Resync {
+
+        final int[] ids;
+        final long seq;
+
+        Resync(int[] ids, long seq) {
+            this.ids = ids;
+            this.seq = seq;
+        }
+    }
+}
@@ -6,7 +6,7 @@
 public class Potato extends Plant {
 
     public Potato() {
-        super("Peruna (Potato)");
+        super(SpeciesProfile.POTATO);
     }
 
     /**
@@ -16,8 +16,8 @@ public class Potato extends Plant {
     @Override
     public void water() {
         int currentWater = this.getWaterLevel();
-        this.setWaterLevel(currentWater + 25);
-        System.out.println("You water the " + this.getName() + ". Water level: " + this.getWaterLevel());
+        this.setWaterLevel(currentWater + getProfile().getWaterAmount());
+        emit(PlantEventType.WATERED, this.getWaterLevel());
     }
 
     /**
@@ -27,8 +27,8 @@ public class Potato extends Plant {
     @Override
     public void bask() {
         int currentSunlight = this.getSunlightLevel();
-        this.setSunlightLevel(currentSunlight + 15); // Less sunlight needed
-        System.out.println("Your " + this.getName() + " gets some gentle sunlight. Sunlight level: " + this.getSunlightLevel());
+        this.setSunlightLevel(currentSunlight + getProfile().getSunlightAmount());
+        emit(PlantEventType.BASKED, this.getSunlightLevel());
     }
 
     /**
@@ -36,9 +36,6 @@ public class Potato extends Plant {
      */
     @Override
     public String harvestProduct() {
-        if (this.getGrowthStage() < 5) {
-            return "Not ready yet! Plant is only at stage " + this.getGrowthStage();
-        }
-        return "Fresh potatoes harvested! You got 15 potatoes.";
+        return getProfile().harvest(this.getGrowthStage());
     }
 }
@@ -0,0 +1,204 @@
+import java.util.*;
+
+/**
+ * QueryPlanner - Runs GardenQuery conditions against one PlantStore
+ * A query is split into the conditions joined by its top-level "and". For
+ * every one of them that compares an indexed attribute with a range, the
+ * index says exactly how many plants are in that range. If the smallest
+ * such range is selective enough, the planner reads those ids from the
+ * index and checks the rest of the query on just those rows; otherwise it
+ * scans the whole store column by column (PlantCondition.select).
+ *
+ * Indexes follow the store as it changes (see SecondaryIndex).
+ *
+ * Usage:
+ * QueryPlanner planner = new QueryPlanner(store);
+ * planner.createIndex(PlantAttribute.SPECIES);
+ * QueryResult thirsty = planner.run("species = tomato and water < 20 and stage >= 5");
+ */
+public class QueryPlanner {
+
+    // A scan tests every row with tight column loops, an index probe tests
+    // few rows through the id accessors; reading ids from an index wins while
+    // the range holds less than 1/INDEX_COST_RATIO of the store
+    private static final int INDEX_COST_RATIO = 32;
+
+    private final PlantStore store;
+    private final Map<PlantAttribute, SecondaryIndex> indexes = new EnumMap<>(PlantAttribute.class);
+
+    public QueryPlanner(PlantStore store) {
+        this.store = Objects.requireNonNull(store, "store");
+    }
+
+    // ========== Indexes ==========
+
+    /**
+     * Indexes a bounded attribute (species, health, water, sunlight, alive)
+     */
+    public SecondaryIndex createIndex(PlantAttribute attribute) {
+        return indexes.computeIfAbsent(attribute, a -> new SecondaryIndex(store, a));
+    }
+
+    /**
+     * Removes an index and stops it from following the store
+     */
+    public void dropIndex(PlantAttribute attribute) {
+        SecondaryIndex index = indexes.remove(attribute);
+        if (index != null) {
+            index.close();
+        }
+    }
+
+    public Set<PlantAttribute> getIndexedAttributes() {
+        return Collections.unmodifiableSet(indexes.keySet());
+    }
+
+    // ========== Planning and running ==========
+
+    public QueryResult run(String query) {
+        return run(GardenQuery.parse(query));
+    }
+
+    public QueryResult run(GardenQuery query) {
+        Plan plan = plan(query.getCondition());
+        int[] ids = plan.index == null ? scan(query.getCondition()) : probe(plan);
+        return new QueryResult(store, ids, plan.describe());
+    }
+
+    /**
+     * @return How run() would execute the query, e.g. for logging slow queries
+     */
+    public String explain(String query) {
+        return plan(GardenQuery.parse(query).getCondition()).describe();
+    }
+
+    private Plan plan(PlantCondition condition) {
+        List<PlantCondition> conjuncts = new ArrayList<>();
+        condition.collectConjuncts(conjuncts);
+
+        Plan best = new Plan(condition, conjuncts);
+        for (PlantCondition conjunct : conjuncts) {
+            if (!(conjunct instanceof PlantCondition.Threshold)) {
+                continue;
+            }
+            PlantCondition.Threshold threshold = (PlantCondition.Threshold) conjunct;
+            SecondaryIndex index = indexes.get(threshold.getAttribute());
+            int[] range = range(threshold);
+            if (index == null || range == null) {
+                continue;
+            }
+            int estimate = index.count(range[0], range[1]);
+            if (best.index == null || estimate < best.estimate) {
+                best.index = index;
+                best.driver = conjunct;
+                best.low = range[0];
+                best.high = range[1];
+                best.estimate = estimate;
+            }
+        }
+        if (best.index != null && (long) best.estimate * INDEX_COST_RATIO > store.size()) {
+            best.index = null; // Too many candidates, a scan is cheaper
+        }
+        return best;
+    }
+
+    /**
+     * @return The values [low, high] a threshold accepts, or null for !=
+     */
+    private static int[] range(PlantCondition.Threshold threshold) {
+        long c = threshold.getConstant();
+        long max = threshold.getAttribute().getMaxValue();
+        long low;
+        long high;
+        switch (threshold.getOperator()) {
+            case LESS:
+                low = 0;
+                high = c - 1;
+                break;
+            case LESS_OR_EQUAL:
+                low = 0;
+                high = c;
+                break;
+            case GREATER:
+                low = c + 1;
+                high = max;
+                break;
+            case GREATER_OR_EQUAL:
+                low = c;
+                high = max;
+                break;
+            case EQUAL:
+                low = c;
+                high = c;
+                break;
+            default:
+                return null;
+        }
+        low = Math.max(0, low);
+        high = Math.min(max, high);
+        return low > high ? new int[] { 1, 0 } : new int[] { (int) low, (int) high };
+    }
+
+    private int[] scan(PlantCondition condition) {
+        long[] selected = condition.select(store);
+        int count = 0;
+        for (long word : selected) {
+            count += Long.bitCount(word);
+        }
+        int[] ids = new int[count];
+        int n = 0;
+        for (int w = 0; w < selected.length; w++) {
+            for (long bits = selected[w]; bits != 0; bits &= bits - 1) {
+                ids[n++] = (w << 6) | Long.numberOfTrailingZeros(bits);
+            }
+        }
+        return ids;
+    }
+
+    private int[] probe(Plan plan) {
+        int[] candidates = plan.index.ids(plan.low, plan.high);
+        List<PlantCondition> residual = new ArrayList<>(plan.conjuncts);
+        residual.remove(plan.driver);
+
+        int n = 0;
+        for (int id : candidates) {
+            boolean matches = true;
+            for (int r = 0, size = residual.size(); r < size && matches; r++) {
+                matches = residual.get(r).test(store, id);
+            }
+            if (matches) {
+                candidates[n++] = id;
+            }
+        }
+        int[] ids = Arrays.copyOf(candidates, n);
+        Arrays.sort(ids); // Same order as a scan
+        return ids;
+    }
+
+    /**
+     * Chosen access path for one query
+     */
+    private static final class Plan {
+
+        final PlantCondition condition;
+        final List<PlantCondition> conjuncts;
+        SecondaryIndex index;
+        PlantCondition driver;
+        int low;
+        int high;
+        int estimate;
+
+        Plan(PlantCondition condition, List<PlantCondition> conjuncts) {
+            this.condition = condition;
+            this.conjuncts = conjuncts;
+        }
+
+        String describe() {
+            if (index == null) {
+                return "full scan: " + condition;
+            }
+            return "index " + index.getAttribute().getShortName() + " [" + low + ", " + high + "] ("
+                    + estimate + " candidates), then filter: " + condition;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+import java.util.*;
+
+/**
+ * QueryResult - Plants matched by a garden query
+ * Holds only the matching ids, in ascending order. views() wraps them in a
+ * list whose elements are read from the store when they are accessed, so a
+ * large result that is only counted or paged never builds a map per plant.
+ */
+public final class QueryResult {
+
+    private final PlantStore store;
+    private final int[] ids;
+    private final String plan;
+
+    QueryResult(PlantStore store, int[] ids, String plan) {
+        this.store = store;
+        this.ids = ids;
+        this.plan = plan;
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    public boolean isEmpty() {
+        return ids.length == 0;
+    }
+
+    /**
+     * @return The matching ids, ascending
+     */
+    public int[] getIds() {
+        return ids.clone();
+    }
+
+    public int getId(int index) {
+        return ids[index];
+    }
+
+    /**
+     * Reads the current status of the match at index into a reusable status,
+     * without building a map
+     *
+     * @return into
+     */
+    public PlantStatus readStatus(int index, PlantStatus into) {
+        return into.read(store, ids[index]);
+    }
+
+    /**
+     * @return Status maps (as PlantStore.getStatus) of the matches, each built
+     *         from the store's current values when it is read
+     */
+    public List<Map<String, Object>> views() {
+        return new AbstractList<Map<String, Object>>() {
+            @Override
+            public Map<String, Object> get(int index) {
+                return store.getStatus(ids[index]);
+            }
+
+            @Override
+            public int size() {
+                return ids.length;
+            }
+        };
+    }
+
+    /**
+     * @return How the query was executed
+     */
+    public String getPlan() {
+        return plan;
+    }
+
+    @Override
+    public String toString() {
+        return ids.length + " plants (" + plan + ")";
+    }
+}
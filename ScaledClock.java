@@ -0,0 +1,56 @@
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * ScaledClock - GameClock that runs a fixed factor faster than another clock
+ * With a speed of 60, one real second is one game minute and sleeps are 60x
+ * shorter. Game time starts at the given date and time.
+ */
+public class ScaledClock implements GameClock {
+
+    private final GameClock base;
+    private final double speed;
+    private final LocalDateTime start;
+    private final long baseOrigin;
+
+    /**
+     * @param base  Clock that actually passes, usually GameClock.SYSTEM
+     * @param speed Game seconds per base second, greater than 0
+     * @param start Game date and time at the moment of construction
+     */
+    public ScaledClock(GameClock base, double speed, LocalDateTime start) {
+        if (!(speed > 0) || Double.isInfinite(speed)) {
+            throw new IllegalArgumentException("speed must be positive and finite: " + speed);
+        }
+        this.base = Objects.requireNonNull(base, "base");
+        this.speed = speed;
+        this.start = Objects.requireNonNull(start, "start");
+        this.baseOrigin = base.nanoTime();
+    }
+
+    /**
+     * Scales the system clock, starting from the current date and time
+     */
+    public ScaledClock(double speed) {
+        this(GameClock.SYSTEM, speed, LocalDateTime.now());
+    }
+
+    @Override
+    public long nanoTime() {
+        return (long) ((base.nanoTime() - baseOrigin) * speed);
+    }
+
+    @Override
+    public LocalDateTime now() {
+        return start.plusNanos(nanoTime());
+    }
+
+    @Override
+    public void sleepNanos(long nanos) throws InterruptedException {
+        base.sleepNanos((long) (nanos / speed));
+    }
+
+    public double getSpeed() {
+        return speed;
+    }
+}
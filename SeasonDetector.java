@@ -1,5 +1,6 @@
 import java.time.LocalDate;
 import java.time.Month;
+import java.util.*;
 
 /**
  * SeasonDetector - Detects the current season based on the current date
@@ -24,13 +25,37 @@ public class SeasonDetector {
             Season.WINTER         // December (11)
     };
 
+    private final GameClock clock;
+
+    /**
+     * Detects the season from the system date
+     */
+    public SeasonDetector() {
+        this(GameClock.SYSTEM);
+    }
+
+    /**
+     * @param clock Clock that supplies today's date
+     */
+    public SeasonDetector(GameClock clock) {
+        this.clock = Objects.requireNonNull(clock, "clock");
+    }
+
     /**
      * Gets the current season based on today's date
      * @return The current Season enum value
      */
     public Season getCurrentSeason() {
-        LocalDate today = LocalDate.now();
-        int monthIndex = today.getMonthValue() - 1; // Convert 1-12 to 0-11
+        return getSeason(clock.today());
+    }
+
+    /**
+     * Gets the season a given date falls in
+     * @param date The date to look up
+     * @return The Season enum value for that date
+     */
+    public Season getSeason(LocalDate date) {
+        int monthIndex = date.getMonthValue() - 1; // Convert 1-12 to 0-11
         
         if (monthIndex < 0 || monthIndex >= MONTH_TO_SEASON.length) {
             System.out.println("Error: Season not found.");
@@ -0,0 +1,134 @@
+import java.util.*;
+
+/**
+ * SeasonMatrix - Precomputed seasonal tick modifiers per Season x species
+ * Each season has a Row holding, per species id, how much water and sunlight
+ * drain per tick and how healthy a plant must be to grow. Ticks read the
+ * numbers from the active Row's arrays, so there is no map or enum lookup
+ * on the hot path; changing season swaps one Row reference, which readers
+ * see atomically.
+ *
+ * The base rules are water -5, sunlight -3 and growth above 50 health, the
+ * NEUTRAL row. Kernels that only know the base rules check isNeutral().
+ */
+public final class SeasonMatrix {
+
+    // Base tick rules, as in Plant.tick()
+    public static final int BASE_WATER_DECAY = 5;
+    public static final int BASE_SUNLIGHT_DECAY = 3;
+    public static final int BASE_GROW_HEALTH = 50;
+
+    public static final Row NEUTRAL = new Row(null, BASE_WATER_DECAY, BASE_SUNLIGHT_DECAY, BASE_GROW_HEALTH);
+
+    static {
+        NEUTRAL.neutral = true;
+    }
+
+    // Indexed by Season.ordinal(), filled once below
+    private static final Row[] ROWS = new Row[Season.values().length];
+
+    static {
+        // Season: water decay, sunlight decay, health needed to grow
+        define(Season.EARLY_SPRING, 4, 3, 55);
+        define(Season.SPRING, 5, 3, 50);
+        define(Season.LATE_SPRING, 5, 3, 50);
+        define(Season.SUMMER, 7, 2, 50);         // Hot days dry the soil
+        define(Season.EARLY_AUTUMN, 6, 3, 50);
+        define(Season.AUTUMN, 5, 4, 55);
+        define(Season.EARLY_WINTER, 4, 4, 60);
+        define(Season.WINTER, 3, 5, 70);         // Little light, slow growth
+    }
+
+    private SeasonMatrix() {
+    }
+
+    private static void define(Season season, int waterDecay, int sunlightDecay, int growHealth) {
+        Row row = new Row(season, waterDecay, sunlightDecay, growHealth);
+
+        // Species quirks on top of the season
+        int marigold = SpeciesProfile.MARIGOLD.getId();
+        int sunflower = SpeciesProfile.SUNFLOWER.getId();
+        int tomato = SpeciesProfile.TOMATO.getId();
+        if (waterDecay > BASE_WATER_DECAY) {
+            row.waterDecay[marigold]--;     // Drought-tolerant
+        }
+        if (sunlightDecay > BASE_SUNLIGHT_DECAY) {
+            row.sunlightDecay[sunflower]++; // Misses the sun most
+        }
+        if (growHealth > BASE_GROW_HEALTH) {
+            row.growHealth[tomato] += 5;    // Needs warmth to set fruit
+        }
+
+        // Plants of unknown species follow the base rules all year
+        int other = SpeciesProfile.DEFAULT.getId();
+        row.waterDecay[other] = BASE_WATER_DECAY;
+        row.sunlightDecay[other] = BASE_SUNLIGHT_DECAY;
+        row.growHealth[other] = BASE_GROW_HEALTH;
+
+        row.neutral = row.matchesBaseRules();
+        ROWS[season.ordinal()] = row;
+    }
+
+    /**
+     * @return The modifiers for a season, NEUTRAL for null
+     */
+    public static Row of(Season season) {
+        return season == null ? NEUTRAL : ROWS[season.ordinal()];
+    }
+
+    /**
+     * One season's modifiers, indexed by species id. Never modified after
+     * SeasonMatrix is initialised
+     */
+    public static final class Row {
+
+        private final Season season;
+        final int[] waterDecay = new int[SpeciesProfile.count()];
+        final int[] sunlightDecay = new int[SpeciesProfile.count()];
+        final int[] growHealth = new int[SpeciesProfile.count()];
+        private boolean neutral;
+
+        private Row(Season season, int waterDecay, int sunlightDecay, int growHealth) {
+            this.season = season;
+            Arrays.fill(this.waterDecay, waterDecay);
+            Arrays.fill(this.sunlightDecay, sunlightDecay);
+            Arrays.fill(this.growHealth, growHealth);
+        }
+
+        /**
+         * @return The season, or null for NEUTRAL
+         */
+        public Season getSeason() {
+            return season;
+        }
+
+        public int getWaterDecay(SpeciesProfile species) {
+            return waterDecay[species.getId()];
+        }
+
+        public int getSunlightDecay(SpeciesProfile species) {
+            return sunlightDecay[species.getId()];
+        }
+
+        public int getGrowHealth(SpeciesProfile species) {
+            return growHealth[species.getId()];
+        }
+
+        /**
+         * @return True if every species follows the base rules in this row
+         */
+        public boolean isNeutral() {
+            return neutral;
+        }
+
+        private boolean matchesBaseRules() {
+            for (int id = 0; id < waterDecay.length; id++) {
+                if (waterDecay[id] != BASE_WATER_DECAY || sunlightDecay[id] != BASE_SUNLIGHT_DECAY
+                        || growHealth[id] != BASE_GROW_HEALTH) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
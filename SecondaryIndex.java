@@ -0,0 +1,273 @@
+import java.util.*;
+
+/**
+ * SecondaryIndex - Plant ids of a PlantStore grouped by one attribute's value
+ * Works for bounded attributes (species, vitals, alive), which take at most
+ * 101 values. Each value has a bucket of ids, so the number of plants in a
+ * value range is a sum over at most 101 bucket sizes and listing them is a
+ * copy of O(result) ids.
+ *
+ * The index listens to its store and stays current. A plant whose value
+ * changes is moved in O(1): it swaps places with the last id of its old
+ * bucket, which then shrinks, and is appended to its new bucket. Setters
+ * move the one plant they changed, and only in the index of that attribute. Ticks and other bulk changes report which
+ * rows they altered (PlantStore.changedBits), and only those rows are moved;
+ * if a large share of the rows changed, the buckets are refilled with a
+ * counting pass instead. close() detaches the index from the store.
+ */
+public class SecondaryIndex implements PlantStoreListener {
+
+    // Rebuild instead of moving ids once more than 1/REBUILD_FRACTION of the rows
+    // changed; in a 2M-row store the two break even near 1/6
+    private static final int REBUILD_FRACTION = 8;
+
+    private final PlantStore store;
+    private final PlantAttribute attribute;
+
+    // Ids with value v are buckets[v][0 .. bucketSize[v])
+    private final int[][] buckets;
+    private final int[] bucketSize;
+
+    // Per id: the value the index has it under, and its place in that bucket
+    private byte[] key = new byte[0];
+    private int[] position = new int[0];
+    private int size;
+
+    private long moveCount;
+    private long rebuildCount;
+    private boolean closed;
+
+    /**
+     * Builds an index over the current rows of the store and starts
+     * following its changes
+     */
+    public SecondaryIndex(PlantStore store, PlantAttribute attribute) {
+        if (!attribute.isBounded()) {
+            throw new IllegalArgumentException("Cannot index unbounded attribute " + attribute.getShortName());
+        }
+        this.store = Objects.requireNonNull(store, "store");
+        this.attribute = attribute;
+        this.buckets = new int[attribute.getMaxValue() + 1][];
+        this.bucketSize = new int[buckets.length];
+        Arrays.fill(buckets, new int[0]);
+        rebuild();
+        store.addListener(this);
+    }
+
+    /**
+     * Stops following the store; the index keeps its last contents
+     */
+    public void close() {
+        if (!closed) {
+            store.removeListener(this);
+            closed = true;
+        }
+    }
+
+    /**
+     * Re-reads every row of the store with a counting sort, O(rows)
+     */
+    public void rebuild() {
+        int rows = store.size();
+        ensureCapacity(rows);
+        int[] slotToId = store.slotToIdMap();
+        byte[] key = this.key;
+
+        int[] bucketSize = this.bucketSize;
+        Arrays.fill(bucketSize, 0);
+        byte[] column = byteColumn();
+        long[] alive = store.aliveBits();
+        for (int slot = 0; slot < rows; slot++) {
+            int value = column != null ? column[slot] : (int) (alive[slot >>> 6] >>> slot) & 1;
+            key[slotToId == null ? slot : slotToId[slot]] = (byte) value;
+            bucketSize[value]++;
+        }
+        for (int v = 0; v < buckets.length; v++) {
+            if (buckets[v].length < bucketSize[v]) {
+                buckets[v] = new int[bucketSize[v] + (bucketSize[v] >> 2)];
+            }
+        }
+
+        Arrays.fill(bucketSize, 0);
+        int[][] buckets = this.buckets;
+        int[] position = this.position;
+        for (int id = 0; id < rows; id++) {
+            int value = key[id];
+            int p = bucketSize[value]++;
+            buckets[value][p] = id;
+            position[id] = p;
+        }
+        size = rows;
+        rebuildCount++;
+    }
+
+    // ========== PlantStoreListener ==========
+
+    @Override
+    public void rowAdded(int id) {
+        ensureCapacity(id + 1);
+        size++;
+        append(id, attribute.valueOf(store, id));
+    }
+
+    @Override
+    public void rowChanged(int id) {
+        int value = attribute.valueOf(store, id);
+        if (value != key[id]) {
+            move(id, value);
+        }
+    }
+
+    @Override
+    public void valueChanged(int id, PlantAttribute changed) {
+        if (changed == attribute) {
+            rowChanged(id);
+        }
+    }
+
+    @Override
+    public void rowsChanged(int fromSlot, int toSlot) {
+        // A row's species never changes
+        if (attribute == PlantAttribute.SPECIES || fromSlot >= toSlot) {
+            return;
+        }
+        int firstWord = fromSlot >>> 6;
+        int lastWord = (toSlot - 1) >>> 6;
+
+        // Counting first lets a mostly changed store go to rebuild()
+        long count = 0;
+        for (int w = firstWord; w <= lastWord; w++) {
+            count += Long.bitCount(store.changedBits(attribute, w));
+        }
+        if (count * REBUILD_FRACTION > size) {
+            rebuild();
+            return;
+        }
+
+        int[] slotToId = store.slotToIdMap();
+        byte[] column = byteColumn();
+        long[] alive = store.aliveBits();
+        for (int w = firstWord; w <= lastWord; w++) {
+            long bits = store.changedBits(attribute, w);
+            if (w == firstWord) {
+                bits &= -1L << fromSlot;
+            }
+            if (w == lastWord) {
+                bits &= -1L >>> -toSlot;
+            }
+            while (bits != 0) {
+                int slot = (w << 6) | Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                int id = slotToId == null ? slot : slotToId[slot];
+                int value = column != null ? column[slot] : (int) (alive[w] >>> slot) & 1;
+                if (value != key[id]) {
+                    move(id, value);
+                }
+            }
+        }
+    }
+
+    // ========== Queries ==========
+
+    /**
+     * @return Number of plants whose value lies in [low, high]
+     */
+    public int count(int low, int high) {
+        low = Math.max(low, 0);
+        high = Math.min(high, buckets.length - 1);
+        int count = 0;
+        for (int v = low; v <= high; v++) {
+            count += bucketSize[v];
+        }
+        return count;
+    }
+
+    /**
+     * @return Ids of the plants whose value lies in [low, high], grouped by
+     *         value but in no particular order within a value
+     */
+    public int[] ids(int low, int high) {
+        int[] result = new int[count(low, high)];
+        int n = 0;
+        for (int v = Math.max(low, 0); v <= Math.min(high, buckets.length - 1); v++) {
+            System.arraycopy(buckets[v], 0, result, n, bucketSize[v]);
+            n += bucketSize[v];
+        }
+        return result;
+    }
+
+    public PlantAttribute getAttribute() {
+        return attribute;
+    }
+
+    public PlantStore getStore() {
+        return store;
+    }
+
+    /**
+     * @return Ids moved between values one at a time so far
+     */
+    public long getMoveCount() {
+        return moveCount;
+    }
+
+    /**
+     * @return Full rebuilds so far, including the initial one
+     */
+    public long getRebuildCount() {
+        return rebuildCount;
+    }
+
+    // ========== Buckets ==========
+
+    private byte[] byteColumn() {
+        switch (attribute) {
+            case HEALTH:
+                return store.healthColumn();
+            case WATER_LEVEL:
+                return store.waterColumn();
+            case SUNLIGHT_LEVEL:
+                return store.sunlightColumn();
+            case SPECIES:
+                return store.speciesColumn();
+            default:
+                return null; // ALIVE lives in the alive bits
+        }
+    }
+
+    /**
+     * Takes an id out of its bucket by moving the bucket's last id into
+     * its place, then appends it to the bucket of its new value
+     */
+    private void move(int id, int value) {
+        int from = key[id];
+        int p = position[id];
+        int last = --bucketSize[from];
+        int[] bucket = buckets[from];
+        int lastId = bucket[last];
+        bucket[p] = lastId;
+        position[lastId] = p;
+        append(id, value);
+        moveCount++;
+    }
+
+    private void append(int id, int value) {
+        int[] bucket = buckets[value];
+        int p = bucketSize[value]++;
+        if (p == bucket.length) {
+            bucket = Arrays.copyOf(bucket, Math.max(16, p + (p >> 1)));
+            buckets[value] = bucket;
+        }
+        bucket[p] = id;
+        position[id] = p;
+        key[id] = (byte) value;
+    }
+
+    private void ensureCapacity(int rows) {
+        if (key.length < rows) {
+            int capacity = Math.max(rows, key.length + (key.length >> 1));
+            key = Arrays.copyOf(key, capacity);
+            position = Arrays.copyOf(position, capacity);
+        }
+    }
+}
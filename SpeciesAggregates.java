@@ -0,0 +1,430 @@
+import java.util.*;
+
+/**
+ * SpeciesAggregates - Running vitals statistics per species of a PlantStore
+ * For each species it keeps the number of living plants and, for health,
+ * water, sunlight and growth stage, the sum, min, max and a histogram with
+ * one bin per value 0..100. Growth stages above 100 share the last bin, so
+ * the stage min/max saturate at 100 while its sum and mean stay exact.
+ * Dead plants leave the statistics when they die.
+ *
+ * The statistics follow the store through its listener calls and are only
+ * ever updated by differences: the values each plant was last counted with
+ * are remembered, a tick compares the rows it changed against them, and
+ * only the plants that moved shift between bins. The differences of a tick
+ * are collected first and then added to the totals in one short step, so
+ * snapshot() never sees half a tick; it copies the totals in
+ * O(species x bins) and may be called from any thread.
+ *
+ * Usage:
+ * SpeciesAggregates aggregates = new SpeciesAggregates(store);
+ * store.tick();
+ * SpeciesAggregates.Snapshot snapshot = aggregates.snapshot();
+ * double meanHealth = snapshot.getMean(PlantAttribute.HEALTH, SpeciesProfile.TOMATO.getId());
+ */
+public class SpeciesAggregates implements PlantStoreListener {
+
+    public static final int BINS = 101;
+
+    // Aggregated attributes, in the order of their rows in Totals
+    private static final PlantAttribute[] ATTRIBUTES = { PlantAttribute.HEALTH, PlantAttribute.WATER_LEVEL,
+            PlantAttribute.SUNLIGHT_LEVEL, PlantAttribute.GROWTH_STAGE };
+    private static final int HEALTH = 0;
+    private static final int WATER = 1;
+    private static final int SUNLIGHT = 2;
+    private static final int STAGE = 3;
+
+    private final PlantStore store;
+    private final int species = SpeciesProfile.count();
+
+    // Values each plant is counted with, by id; store's thread only
+    private byte[] countedHealth = new byte[0];
+    private byte[] countedWater = new byte[0];
+    private byte[] countedSunlight = new byte[0];
+    private int[] countedStage = new int[0];
+    private long[] counted = new long[0];
+
+    // Differences of the change in progress; store's thread only
+    private final Totals delta = new Totals(species);
+
+    // Guarded by itself
+    private final Totals totals = new Totals(species);
+    private long version;
+
+    private boolean closed;
+
+    /**
+     * Counts the current rows of the store and starts following its changes
+     */
+    public SpeciesAggregates(PlantStore store) {
+        this.store = Objects.requireNonNull(store, "store");
+        ensureCapacity(store.size());
+        countRange(0, store.size());
+        publish();
+        store.addListener(this);
+    }
+
+    /**
+     * Stops following the store; snapshots keep showing its last state
+     */
+    public void close() {
+        if (!closed) {
+            store.removeListener(this);
+            closed = true;
+        }
+    }
+
+    // ========== PlantStoreListener ==========
+
+    @Override
+    public void rowAdded(int id) {
+        ensureCapacity(id + 1);
+        rowChanged(id);
+    }
+
+    @Override
+    public void rowChanged(int id) {
+        // One row: small enough to apply to the totals directly
+        synchronized (totals) {
+            countSlot(store.slotOf(id), id, totals);
+            version++;
+        }
+    }
+
+    @Override
+    public void rowsChanged(int fromSlot, int toSlot) {
+        if (fromSlot < toSlot) {
+            countRange(fromSlot, toSlot);
+            publish();
+        }
+    }
+
+    // ========== Differences ==========
+
+    /**
+     * Records the differences of a range of rows in delta. Works a word of
+     * 64 rows at a time: the few plants that were born or died since the
+     * last pass are handled one by one, and the plants that stayed alive
+     * move between bins without a branch, as their vitals move in nearly
+     * every tick
+     */
+    private void countRange(int fromSlot, int toSlot) {
+        if (fromSlot >= toSlot) {
+            return; // (toSlot - 1) >>> 6 would wrap for an empty range
+        }
+        int[] slotToId = store.slotToIdMap();
+        long[] alive = store.aliveBits();
+        byte[] speciesColumn = store.speciesColumn();
+        byte[] health = store.healthColumn();
+        byte[] water = store.waterColumn();
+        byte[] sunlight = store.sunlightColumn();
+        int[] stage = store.growthStageColumn();
+        byte[] countedHealth = this.countedHealth;
+        byte[] countedWater = this.countedWater;
+        byte[] countedSunlight = this.countedSunlight;
+        int[] countedStage = this.countedStage;
+        long[] stageSum = delta.stageSum;
+        int[] histogram = delta.histogram;
+        int waterBins = WATER * species * BINS;
+        int sunlightBins = SUNLIGHT * species * BINS;
+        int stageBins = STAGE * species * BINS;
+
+        for (int w = fromSlot >>> 6, last = (toSlot - 1) >>> 6; w <= last; w++) {
+            long range = -1L;
+            if (w == fromSlot >>> 6) {
+                range &= -1L << fromSlot;
+            }
+            if (w == last && (toSlot & 63) != 0) {
+                range &= (1L << toSlot) - 1;
+            }
+            long living = alive[w] & range;
+            long wasCounted = countedBits(w, slotToId) & range;
+            for (long bits = living ^ wasCounted; bits != 0; bits &= bits - 1) {
+                int slot = (w << 6) | Long.numberOfTrailingZeros(bits);
+                countSlot(slot, slotToId == null ? slot : slotToId[slot], delta); // Born or died
+            }
+
+            for (long bits = living & wasCounted; bits != 0; bits &= bits - 1) {
+                int slot = (w << 6) | Long.numberOfTrailingZeros(bits);
+                int id = slotToId == null ? slot : slotToId[slot];
+                int sp = speciesColumn[slot];
+                int bins = sp * BINS;
+
+                int value = health[slot];
+                histogram[bins + countedHealth[id]]--;
+                histogram[bins + value]++;
+                countedHealth[id] = (byte) value;
+
+                value = water[slot];
+                histogram[waterBins + bins + countedWater[id]]--;
+                histogram[waterBins + bins + value]++;
+                countedWater[id] = (byte) value;
+
+                value = sunlight[slot];
+                histogram[sunlightBins + bins + countedSunlight[id]]--;
+                histogram[sunlightBins + bins + value]++;
+                countedSunlight[id] = (byte) value;
+
+                value = stage[slot];
+                int oldValue = countedStage[id];
+                histogram[stageBins + bins + Math.min(oldValue, BINS - 1)]--;
+                histogram[stageBins + bins + Math.min(value, BINS - 1)]++;
+                stageSum[sp] += value - oldValue;
+                countedStage[id] = value;
+            }
+        }
+    }
+
+    // Counted bits of the 64 rows in word w, which are ids only until compaction
+    private long countedBits(int w, int[] slotToId) {
+        if (slotToId == null) {
+            return counted[w];
+        }
+        long bits = 0;
+        for (int slot = w << 6, end = Math.min(slot + 64, store.size()), j = 0; slot < end; slot++, j++) {
+            int id = slotToId[slot];
+            bits |= (counted[id >>> 6] >>> id & 1) << j;
+        }
+        return bits;
+    }
+
+    /**
+     * Compares one row with the values its plant is counted with and records
+     * the difference in target
+     */
+    private void countSlot(int slot, int id, Totals target) {
+        long aliveBit = store.aliveBits()[slot >>> 6] & (1L << slot);
+        long countedBit = counted[id >>> 6] & (1L << id);
+        if (aliveBit == 0 && countedBit == 0) {
+            return; // Dead plants are not counted and do not change
+        }
+        int sp = store.speciesColumn()[slot];
+        int h = store.healthColumn()[slot];
+        int w = store.waterColumn()[slot];
+        int s = store.sunlightColumn()[slot];
+        int st = store.growthStageColumn()[slot];
+        if (countedBit == 0) {
+            target.add(sp, h, w, s, st, 1);
+            counted[id >>> 6] |= 1L << id;
+        } else if (aliveBit == 0) {
+            target.add(sp, countedHealth[id], countedWater[id], countedSunlight[id], countedStage[id], -1);
+            counted[id >>> 6] &= ~(1L << id);
+        } else {
+            if (h != countedHealth[id]) {
+                target.move(HEALTH, sp, countedHealth[id], h);
+            }
+            if (w != countedWater[id]) {
+                target.move(WATER, sp, countedWater[id], w);
+            }
+            if (s != countedSunlight[id]) {
+                target.move(SUNLIGHT, sp, countedSunlight[id], s);
+            }
+            if (st != countedStage[id]) {
+                target.move(STAGE, sp, countedStage[id], st);
+            }
+        }
+        countedHealth[id] = (byte) h;
+        countedWater[id] = (byte) w;
+        countedSunlight[id] = (byte) s;
+        countedStage[id] = st;
+    }
+
+    // Adds the collected differences to the totals in one step
+    private void publish() {
+        synchronized (totals) {
+            totals.addAll(delta);
+            version++;
+        }
+        delta.clear();
+    }
+
+    private void ensureCapacity(int rows) {
+        if (countedHealth.length < rows) {
+            int capacity = Math.max(rows, countedHealth.length + (countedHealth.length >> 1));
+            countedHealth = Arrays.copyOf(countedHealth, capacity);
+            countedWater = Arrays.copyOf(countedWater, capacity);
+            countedSunlight = Arrays.copyOf(countedSunlight, capacity);
+            countedStage = Arrays.copyOf(countedStage, capacity);
+            counted = Arrays.copyOf(counted, (capacity + 63) >>> 6);
+        }
+    }
+
+    // ========== Reading ==========
+
+    /**
+     * @return The statistics after the latest change, all from the same moment
+     */
+    public Snapshot snapshot() {
+        Totals copy = new Totals(species);
+        long at;
+        synchronized (totals) {
+            copy.addAll(totals);
+            at = version;
+        }
+        return new Snapshot(copy, at);
+    }
+
+    public PlantStore getStore() {
+        return store;
+    }
+
+    private static int attributeRow(PlantAttribute attribute) {
+        for (int a = 0; a < ATTRIBUTES.length; a++) {
+            if (ATTRIBUTES[a] == attribute) {
+                return a;
+            }
+        }
+        throw new IllegalArgumentException("Not aggregated: " + attribute.getShortName());
+    }
+
+    /**
+     * Counts and histograms per species, flattened into arrays. Sums of the
+     * vitals follow from their histograms; only growth stages, which may
+     * exceed the last bin, keep a sum of their own
+     */
+    private static final class Totals {
+
+        final int species;
+        final int[] count;
+        final long[] stageSum;
+        final int[] histogram;  // [attribute][species][bin]
+
+        Totals(int species) {
+            this.species = species;
+            this.count = new int[species];
+            this.stageSum = new long[species];
+            this.histogram = new int[ATTRIBUTES.length * species * BINS];
+        }
+
+        // Counts (sign 1) or uncounts (sign -1) one plant
+        void add(int sp, int h, int w, int s, int st, int sign) {
+            count[sp] += sign;
+            addValue(HEALTH, sp, h, sign);
+            addValue(WATER, sp, w, sign);
+            addValue(SUNLIGHT, sp, s, sign);
+            addValue(STAGE, sp, st, sign);
+        }
+
+        void move(int attribute, int sp, int from, int to) {
+            addValue(attribute, sp, from, -1);
+            addValue(attribute, sp, to, 1);
+        }
+
+        private void addValue(int attribute, int sp, int value, int sign) {
+            if (attribute == STAGE) {
+                stageSum[sp] += sign * (long) value;
+            }
+            histogram[(attribute * species + sp) * BINS + Math.min(value, BINS - 1)] += sign;
+        }
+
+        void addAll(Totals other) {
+            for (int i = 0; i < count.length; i++) {
+                count[i] += other.count[i];
+            }
+            for (int i = 0; i < stageSum.length; i++) {
+                stageSum[i] += other.stageSum[i];
+            }
+            for (int i = 0; i < histogram.length; i++) {
+                histogram[i] += other.histogram[i];
+            }
+        }
+
+        void clear() {
+            Arrays.fill(count, 0);
+            Arrays.fill(stageSum, 0);
+            Arrays.fill(histogram, 0);
+        }
+    }
+
+    /**
+     * Statistics of one moment; never changes after it is taken
+     */
+    public static final class Snapshot {
+
+        private final Totals totals;
+        private final long version;
+
+        private Snapshot(Totals totals, long version) {
+            this.totals = totals;
+            this.version = version;
+        }
+
+        /**
+         * @return Living plants of the species
+         */
+        public int getCount(int species) {
+            return totals.count[species];
+        }
+
+        public long getSum(PlantAttribute attribute, int species) {
+            int row = attributeRow(attribute);
+            if (row == STAGE) {
+                return totals.stageSum[species];
+            }
+            int offset = (row * totals.species + species) * BINS;
+            long sum = 0;
+            for (int bin = 1; bin < BINS; bin++) {
+                sum += (long) bin * totals.histogram[offset + bin];
+            }
+            return sum;
+        }
+
+        /**
+         * @return Mean value over the living plants of the species, or NaN if there are none
+         */
+        public double getMean(PlantAttribute attribute, int species) {
+            int count = totals.count[species];
+            return count == 0 ? Double.NaN : (double) getSum(attribute, species) / count;
+        }
+
+        /**
+         * @return Smallest value, or -1 if the species has no living plants
+         */
+        public int getMin(PlantAttribute attribute, int species) {
+            int offset = (attributeRow(attribute) * totals.species + species) * BINS;
+            for (int bin = 0; bin < BINS; bin++) {
+                if (totals.histogram[offset + bin] != 0) {
+                    return bin;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * @return Largest value (at most 100), or -1 if the species has no living plants
+         */
+        public int getMax(PlantAttribute attribute, int species) {
+            int offset = (attributeRow(attribute) * totals.species + species) * BINS;
+            for (int bin = BINS - 1; bin >= 0; bin--) {
+                if (totals.histogram[offset + bin] != 0) {
+                    return bin;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * @return Living plants of the species per value 0..100
+         */
+        public int[] getHistogram(PlantAttribute attribute, int species) {
+            int offset = (attributeRow(attribute) * totals.species + species) * BINS;
+            return Arrays.copyOfRange(totals.histogram, offset, offset + BINS);
+        }
+
+        /**
+         * @return Number of changes the statistics reflect, for telling snapshots apart
+         */
+        public long getVersion() {
+            return version;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder text = new StringBuilder("SpeciesAggregates.Snapshot{version=").append(version);
+            for (int sp = 0; sp < totals.species; sp++) {
+                text.append(", ").append(SpeciesProfile.byId(sp).getName()).append('=').append(getCount(sp));
+            }
+            return text.append('}').toString();
+        }
+    }
+}
@@ -0,0 +1,172 @@
+/**
+ * SpeciesProfile - Immutable care numbers of one plant species
+ * Every species gets a small id (its PlantFactory choice minus one), so bulk
+ * stores can keep a byte per plant and look the numbers up by id instead of
+ * making a virtual call per plant. The Plant subclasses delegate to their
+ * profile, so both paths always agree.
+ * Plants of other classes, made with Plant(String name), share DEFAULT: the
+ * last id, average care numbers and no seasonal quirks.
+ */
+public final class SpeciesProfile {
+
+    public static final SpeciesProfile POTATO = new SpeciesProfile(0, "Peruna (Potato)",
+            25, 15, 5, "Fresh potatoes harvested! You got 15 potatoes.",         // Gentle sunlight
+            "You water the %s.", "Your %s gets some gentle sunlight.");
+    public static final SpeciesProfile MARIGOLD = new SpeciesProfile(1, "Calendula (Marigold)",
+            15, 30, 4, "Beautiful marigold seeds collected! You got 50 seeds.",  // Drought-tolerant
+            "You give the %s a little water.", "Your %s basks in the sun!");
+    public static final SpeciesProfile TOMATO = new SpeciesProfile(2, "Lycopersicum (Tomato)",
+            35, 35, 6, "Delicious red tomatoes harvested! You got 12 tomatoes.", // Lots of everything
+            "You give the %s plenty of water.", "Your %s soaks up the sun!");
+    public static final SpeciesProfile CUCUMBER = new SpeciesProfile(3, "Cucumis (Cucumber)",
+            28, 28, 5, "Fresh cucumbers harvested! You got 8 cucumbers.",
+            "You water the %s.", "Your %s receives good sunlight.");
+    public static final SpeciesProfile SUNFLOWER = new SpeciesProfile(4, "Helianthus (Sunflower)",
+            20, 40, 6, "Beautiful sunflower seeds harvested! You got 80 seeds.", // Loves the sun
+            "You water the %s.", "Your %s loves the sun!");
+    public static final SpeciesProfile DEFAULT = new SpeciesProfile(5, "Planta (Plant)",
+            25, 25, 5, "You harvested the plant!",
+            "You water the %s.", "Your %s gets some sunlight.");
+
+    // Indexed by id
+    private static final SpeciesProfile[] BY_ID = { POTATO, MARIGOLD, TOMATO, CUCUMBER, SUNFLOWER, DEFAULT };
+
+    // The numbers as columns by id, for bulk loops in this package (never modified)
+    static final int[] WATER_AMOUNT = new int[BY_ID.length];
+    static final int[] SUNLIGHT_AMOUNT = new int[BY_ID.length];
+    static final int[] HARVEST_STAGE = new int[BY_ID.length];
+
+    static {
+        for (SpeciesProfile profile : BY_ID) {
+            WATER_AMOUNT[profile.id] = profile.waterAmount;
+            SUNLIGHT_AMOUNT[profile.id] = profile.sunlightAmount;
+            HARVEST_STAGE[profile.id] = profile.harvestStage;
+        }
+    }
+
+    private final byte id;
+    private final String name;
+    private final int waterAmount;
+    private final int sunlightAmount;
+    private final int harvestStage;
+    private final String harvestMessage;
+
+    // Care messages, with %s for the plant's name
+    private final String waterMessage;
+    private final String sunlightMessage;
+
+    private SpeciesProfile(int id, String name, int waterAmount, int sunlightAmount, int harvestStage,
+            String harvestMessage, String waterMessage, String sunlightMessage) {
+        this.id = (byte) id;
+        this.name = name;
+        this.waterAmount = waterAmount;
+        this.sunlightAmount = sunlightAmount;
+        this.harvestStage = harvestStage;
+        this.harvestMessage = harvestMessage;
+        this.waterMessage = waterMessage;
+        this.sunlightMessage = sunlightMessage;
+    }
+
+    /**
+     * @param id Species id, 0 to count() - 1
+     * @return The profile with that id
+     */
+    public static SpeciesProfile byId(int id) {
+        if (id < 0 || id >= BY_ID.length) {
+            throw new IllegalArgumentException("Unknown species id: " + id);
+        }
+        return BY_ID[id];
+    }
+
+    /**
+     * Finds a species by its full name, its Latin name or its common name,
+     * ignoring case: "Lycopersicum (Tomato)", "Lycopersicum" and "tomato"
+     * all give TOMATO
+     *
+     * @return The profile, or null if no species has that name
+     */
+    public static SpeciesProfile forName(String name) {
+        String wanted = name.trim();
+        for (SpeciesProfile profile : BY_ID) {
+            int paren = profile.name.indexOf(" (");
+            String latin = profile.name.substring(0, paren);
+            String common = profile.name.substring(paren + 2, profile.name.length() - 1);
+            if (profile.name.equalsIgnoreCase(wanted) || latin.equalsIgnoreCase(wanted)
+                    || common.equalsIgnoreCase(wanted)) {
+                return profile;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return Number of species, DEFAULT included
+     */
+    public static int count() {
+        return BY_ID.length;
+    }
+
+    /**
+     * Result of trying to harvest a plant at the given growth stage
+     */
+    public String harvest(int growthStage) {
+        if (growthStage < harvestStage) {
+            return "Not ready yet! Plant is only at stage " + growthStage;
+        }
+        return harvestMessage;
+    }
+
+    /**
+     * Message shown when a plant of this species is watered
+     */
+    public String watered(String plantName, int waterLevel) {
+        return String.format(waterMessage, plantName) + " Water level: " + waterLevel;
+    }
+
+    /**
+     * Message shown when a plant of this species gets sunlight
+     */
+    public String basked(String plantName, int sunlightLevel) {
+        return String.format(sunlightMessage, plantName) + " Sunlight level: " + sunlightLevel;
+    }
+
+    // ========== Getters ==========
+
+    public byte getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return Water added by one water() call
+     */
+    public int getWaterAmount() {
+        return waterAmount;
+    }
+
+    /**
+     * @return Sunlight added by one bask() call
+     */
+    public int getSunlightAmount() {
+        return sunlightAmount;
+    }
+
+    /**
+     * @return First growth stage at which the plant can be harvested
+     */
+    public int getHarvestStage() {
+        return harvestStage;
+    }
+
+    public String getHarvestMessage() {
+        return harvestMessage;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
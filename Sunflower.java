@@ -5,7 +5,7 @@
 public class Sunflower extends Plant {
 
     public Sunflower() {
-        super("Helianthus (Sunflower)");
+        super(SpeciesProfile.SUNFLOWER);
     }
 
     /**
@@ -15,8 +15,8 @@ public class Sunflower extends Plant {
     @Override
     public void water() {
         int currentWater = this.getWaterLevel();
-        this.setWaterLevel(currentWater + 20);
-        System.out.println("You water the " + this.getName() + ". Water level: " + this.getWaterLevel());
+        this.setWaterLevel(currentWater + getProfile().getWaterAmount());
+        emit(PlantEventType.WATERED, this.getWaterLevel());
     }
 
     /**
@@ -26,8 +26,8 @@ public class Sunflower extends Plant {
     @Override
     public void bask() {
         int currentSunlight = this.getSunlightLevel();
-        this.setSunlightLevel(currentSunlight + 40); // Maximum sunlight
-        System.out.println("Your " + this.getName() + " loves the sun! Sunlight level: " + this.getSunlightLevel());
+        this.setSunlightLevel(currentSunlight + getProfile().getSunlightAmount());
+        emit(PlantEventType.BASKED, this.getSunlightLevel());
     }
 
     /**
@@ -35,9 +35,6 @@ public class Sunflower extends Plant {
      */
     @Override
     public String harvestProduct() {
-        if (this.getGrowthStage() < 6) {
-            return "Not ready yet! Plant is only at stage " + this.getGrowthStage();
-        }
-        return "Beautiful sunflower seeds harvested! You got 80 seeds.";
+        return getProfile().harvest(this.getGrowthStage());
     }
 }
@@ -0,0 +1,28 @@
+import java.time.LocalDateTime;
+
+/**
+ * SystemClock - GameClock backed by the real system clock
+ * Use the shared GameClock.SYSTEM instance
+ */
+final class SystemClock implements GameClock {
+
+    SystemClock() {
+    }
+
+    @Override
+    public long nanoTime() {
+        return System.nanoTime();
+    }
+
+    @Override
+    public LocalDateTime now() {
+        return LocalDateTime.now();
+    }
+
+    @Override
+    public void sleepNanos(long nanos) throws InterruptedException {
+        if (nanos > 0) {
+            Thread.sleep(nanos / 1_000_000, (int) (nanos % 1_000_000));
+        }
+    }
+}
@@ -0,0 +1,55 @@
+/**
+ * TickKernel - Strategy for advancing a range of PlantStore rows by one tick
+ * Every kernel must give exactly the same results as Plant.tick()
+ */
+@FunctionalInterface
+public interface TickKernel {
+
+    // Plain Java kernel, always available
+    TickKernel SCALAR = new TickKernel() {
+        @Override
+        public void tickRange(PlantStore store, int from, int to) {
+            store.tickRange(from, to);
+        }
+
+        @Override
+        public boolean reportsChanges() {
+            return true;
+        }
+    };
+
+    /**
+     * Advances rows [from, to) of the store by one growth cycle
+     */
+    void tickRange(PlantStore store, int from, int to);
+
+    /**
+     * @return True if the kernel records the rows it alters in
+     *         PlantStore.changeBits(); otherwise the store counts every
+     *         living row as changed
+     */
+    default boolean reportsChanges() {
+        return false;
+    }
+
+    /**
+     * Picks the fastest kernel this JVM supports: the SIMD kernel when it was
+     * compiled (from vector/) and the jdk.incubator.vector module is present
+     * (run with --add-modules jdk.incubator.vector), otherwise the scalar kernel.
+     * The SIMD kernel is loaded by name, so the rest of the game compiles
+     * without the incubator module
+     *
+     * @return The kernel to use for bulk ticks
+     */
+    static TickKernel best() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            try {
+                return Class.forName("VectorTickKernel").asSubclass(TickKernel.class)
+                        .getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                return SCALAR;
+            }
+        }
+        return SCALAR;
+    }
+}
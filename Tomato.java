@@ -5,7 +5,7 @@
 public class Tomato extends Plant {
 
     public Tomato() {
-        super("Lycopersicum (Tomato)");
+        super(SpeciesProfile.TOMATO);
     }
 
     /**
@@ -15,8 +15,8 @@ public class Tomato extends Plant {
     @Override
     public void water() {
         int currentWater = this.getWaterLevel();
-        this.setWaterLevel(currentWater + 35); // Lots of water needed
-        System.out.println("You give the " + this.getName() + " plenty of water. Water level: " + this.getWaterLevel());
+        this.setWaterLevel(currentWater + getProfile().getWaterAmount());
+        emit(PlantEventType.WATERED, this.getWaterLevel());
     }
 
     /**
@@ -26,8 +26,8 @@ public class Tomato extends Plant {
     @Override
     public void bask() {
         int currentSunlight = this.getSunlightLevel();
-        this.setSunlightLevel(currentSunlight + 35); // Lots of sun
-        System.out.println("Your " + this.getName() + " soaks up the sun! Sunlight level: " + this.getSunlightLevel());
+        this.setSunlightLevel(currentSunlight + getProfile().getSunlightAmount());
+        emit(PlantEventType.BASKED, this.getSunlightLevel());
     }
 
     /**
@@ -35,9 +35,6 @@ public class Tomato extends Plant {
      */
     @Override
     public String harvestProduct() {
-        if (this.getGrowthStage() < 6) {
-            return "Not ready yet! Plant is only at stage " + this.getGrowthStage();
-        }
-        return "Delicious red tomatoes harvested! You got 12 tomatoes.";
+        return getProfile().harvest(this.getGrowthStage());
     }
 }
@@ -0,0 +1,171 @@
+/**
+ * TransitionTable - Precomputed one-tick transitions for every plant state
+ * Health, water and sunlight are each 0-100, so there are only 101^3
+ * living states. The table stores what one tick does to each of them, and a
+ * tick becomes a single indexed load per plant.
+ *
+ * Entry layout (same low bits as PackedPlant):
+ * 0-6 health | 7-13 water | 14-20 sunlight | 21 still alive | 22 grew
+ *
+ * The table encodes the base Plant.tick() rules only; kernel() falls back to
+ * another kernel for stores whose rules differ. It is built on first use
+ * (tens of milliseconds, about 4 MB). Lookups into a table that size miss
+ * the cache for scattered states, so measure before preferring it over the
+ * computed kernels.
+ *
+ * Usage: store.tick(TransitionTable.get().kernel(TickKernel.SCALAR));
+ */
+public final class TransitionTable {
+
+    private static final int SIDE = 101;
+    private static final int ALIVE_SHIFT = PackedPlant.ALIVE_SHIFT;
+    private static final int VITALS_MASK = (1 << ALIVE_SHIFT) - 1;
+    private static final int ALIVE_BIT = 1 << ALIVE_SHIFT;
+
+    // Entry layout only: the packed state keeps its stage at PackedPlant.STAGE_SHIFT
+    private static final int GREW_SHIFT = 22;
+
+    private final int[] table;
+    private final long buildNanos;
+
+    private TransitionTable() {
+        long start = System.nanoTime();
+        table = new int[SIDE * SIDE * SIDE];
+        for (int h = 0; h < SIDE; h++) {
+            for (int w = 0; w < SIDE; w++) {
+                for (int s = 0; s < SIDE; s++) {
+                    int next = PackedPlant.tick(PackedPlant.pack(h, w, s, 0, true));
+                    table[index(h, w, s)] = (next & (VITALS_MASK | ALIVE_BIT))
+                            | PackedPlant.growthStage(next) << GREW_SHIFT;
+                }
+            }
+        }
+        buildNanos = System.nanoTime() - start;
+    }
+
+    // Built the first time get() is called
+    private static final class Holder {
+        static final TransitionTable INSTANCE = new TransitionTable();
+    }
+
+    /**
+     * @return The shared table, building it on first use
+     */
+    public static TransitionTable get() {
+        return Holder.INSTANCE;
+    }
+
+    private static int index(int health, int water, int sunlight) {
+        return (health * SIDE + water) * SIDE + sunlight;
+    }
+
+    /**
+     * One growth cycle on a packed state, same result as PackedPlant.tick()
+     */
+    public int tick(int state) {
+        if (!PackedPlant.isAlive(state)) {
+            return state;
+        }
+        int entry = table[index(PackedPlant.health(state), PackedPlant.waterLevel(state),
+                PackedPlant.sunlightLevel(state))];
+        int stage = Math.min(PackedPlant.MAX_STAGE, PackedPlant.growthStage(state) + (entry >>> GREW_SHIFT));
+        return (entry & (VITALS_MASK | ALIVE_BIT)) | stage << PackedPlant.STAGE_SHIFT;
+    }
+
+    /**
+     * Advances a whole packed garden by one growth cycle
+     */
+    public void tick(int[] garden) {
+        for (int i = 0; i < garden.length; i++) {
+            garden[i] = tick(garden[i]);
+        }
+    }
+
+    /**
+     * Kernel that ticks PlantStore rows through the table
+     *
+     * @param fallback Kernel used for stores whose rules the table does not cover
+     */
+    public TickKernel kernel(TickKernel fallback) {
+        return new TickKernel() {
+            @Override
+            public void tickRange(PlantStore store, int from, int to) {
+                if (store.usesBaseRules()) {
+                    TransitionTable.this.tickRange(store, from, to);
+                } else {
+                    fallback.tickRange(store, from, to);
+                }
+            }
+
+            @Override
+            public boolean reportsChanges() {
+                return fallback.reportsChanges();
+            }
+        };
+    }
+
+    private void tickRange(PlantStore store, int from, int to) {
+        if (from >= to) {
+            return;
+        }
+        int[] table = this.table;
+        byte[] health = store.healthColumn();
+        byte[] water = store.waterColumn();
+        byte[] sun = store.sunlightColumn();
+        int[] stage = store.growthStageColumn();
+        long[] alive = store.aliveBits();
+        long[] changes = store.changeBits();
+
+        int lastWord = (to - 1) >>> 6;
+        for (int wordIndex = from >>> 6; wordIndex <= lastWord; wordIndex++) {
+            long bits = alive[wordIndex];
+            if (wordIndex == from >>> 6) {
+                bits &= -1L << from;
+            }
+            if (wordIndex == lastWord) {
+                bits &= -1L >>> -to;
+            }
+            long died = 0;
+            long grew = 0;
+            long healthChanged = 0;
+            long waterChanged = 0;
+            long sunChanged = 0;
+            while (bits != 0) {
+                int bit = Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                int i = (wordIndex << 6) | bit;
+
+                int h = health[i];
+                int w = water[i];
+                int s = sun[i];
+                int entry = table[index(h, w, s)];
+                health[i] = (byte) (entry & 0x7F);
+                water[i] = (byte) ((entry >>> 7) & 0x7F);
+                sun[i] = (byte) ((entry >>> 14) & 0x7F);
+                stage[i] += entry >>> GREW_SHIFT;
+                died |= (long) (((entry & ALIVE_BIT) >>> ALIVE_SHIFT) ^ 1) << bit;
+
+                if (changes != null) {
+                    grew |= (long) (entry >>> GREW_SHIFT) << bit;
+                    healthChanged |= (long) (-((entry & 0x7F) ^ h) >>> 31) << bit;
+                    waterChanged |= (long) (-(((entry >>> 7) & 0x7F) ^ w) >>> 31) << bit;
+                    sunChanged |= (long) (-(((entry >>> 14) & 0x7F) ^ s) >>> 31) << bit;
+                }
+            }
+            alive[wordIndex] &= ~died;
+            if (changes != null) {
+                PlantStore.recordChanges(changes, wordIndex, healthChanged, waterChanged, sunChanged, grew, died);
+            }
+        }
+    }
+
+    // ========== Stats ==========
+
+    public long getBuildNanos() {
+        return buildNanos;
+    }
+
+    public long getMemoryBytes() {
+        return (long) table.length * Integer.BYTES;
+    }
+}
@@ -0,0 +1,57 @@
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * VirtualClock - GameClock that only moves when told to
+ * Sleeping advances the clock and returns at once, so scripted sessions and
+ * simulations run as fast as the CPU allows while still seeing time pass.
+ * advance() fast-forwards, for example through whole seasons.
+ */
+public class VirtualClock implements GameClock {
+
+    private final LocalDateTime start;
+    private final AtomicLong elapsedNanos = new AtomicLong();
+
+    /**
+     * @param start Date and time the clock shows before it is advanced
+     */
+    public VirtualClock(LocalDateTime start) {
+        this.start = Objects.requireNonNull(start, "start");
+    }
+
+    /**
+     * Starts at the current system date and time
+     */
+    public VirtualClock() {
+        this(LocalDateTime.now());
+    }
+
+    @Override
+    public long nanoTime() {
+        return elapsedNanos.get();
+    }
+
+    @Override
+    public LocalDateTime now() {
+        return start.plusNanos(elapsedNanos.get());
+    }
+
+    @Override
+    public void sleepNanos(long nanos) {
+        if (nanos > 0) {
+            elapsedNanos.addAndGet(nanos);
+        }
+    }
+
+    /**
+     * Moves the clock forward without waiting
+     */
+    public void advance(Duration duration) {
+        if (duration.isNegative()) {
+            throw new IllegalArgumentException("Cannot move a clock backwards: " + duration);
+        }
+        elapsedNanos.addAndGet(duration.toNanos());
+    }
+}
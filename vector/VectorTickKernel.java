@@ -0,0 +1,196 @@
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * VectorTickKernel - SIMD tick kernel built on the Vector API
+ * Loads a full vector of plants from each byte column and applies the
+ * Plant.tick() rules as lane-wise integer math, with conditions turned into
+ * 0/1 lanes from the sign bit (as in PackedPlant) instead of if statements.
+ * Rows that do not fill a whole vector are handed to the scalar kernel, and
+ * so are whole ticks under a season whose modifiers differ from the base rules.
+ *
+ * Each byte vector is reinterpreted as ints and processed as four groups of
+ * 8-bit fields, and alive bits are spread to/gathered from byte lanes with
+ * multiply tricks on long lanes. Lane-widening conversions and
+ * VectorMask.fromLong/toLong are avoided because the JDK 17 JIT does not
+ * compile them into SIMD code.
+ *
+ * Needs the incubator module: javac/java --add-modules jdk.incubator.vector
+ * It lives in vector/ so the rest of the game builds without the module.
+ * Obtain it through TickKernel.best(), which falls back to the scalar kernel
+ */
+public final class VectorTickKernel implements TickKernel {
+
+    private static final VectorSpecies<Byte> BYTES = ByteVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Integer> INTS = IntVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Long> LONGS = LongVector.SPECIES_PREFERRED;
+    private static final int LANES = BYTES.length();
+    private static final long LANE_BITS = LANES == 64 ? -1L : (1L << LANES) - 1;
+
+    // Long lane n covers bits [8n, 8n + 8) of an alive word
+    private static final long[] BYTE_SHIFTS = new long[LONGS.length()];
+
+    static {
+        for (int n = 0; n < BYTE_SHIFTS.length; n++) {
+            BYTE_SHIFTS[n] = 8L * n;
+        }
+    }
+
+    @Override
+    public void tickRange(PlantStore store, int from, int to) {
+        if (!store.usesBaseRules()) {
+            store.tickRange(from, to);
+            return;
+        }
+        byte[] health = store.healthColumn();
+        byte[] water = store.waterColumn();
+        byte[] sun = store.sunlightColumn();
+        int[] stage = store.growthStageColumn();
+        long[] alive = store.aliveBits();
+        long[] changes = store.changeBits();
+
+        // Vectors start on lane-aligned rows so each one reads a single bitset word
+        int start = Math.min(to, (from + LANES - 1) & -LANES);
+        int end = Math.max(start, to & -LANES);
+        store.tickRange(from, start);
+
+        for (int i = start; i < end; i += LANES) {
+            long bits = (alive[i >>> 6] >>> (i & 63)) & LANE_BITS;
+            if (bits != 0) {
+                long died = tickVector(health, water, sun, stage, i, bits, changes);
+                alive[i >>> 6] &= ~(died << (i & 63));
+            }
+        }
+
+        store.tickRange(end, to);
+    }
+
+    @Override
+    public boolean reportsChanges() {
+        return true;
+    }
+
+    /**
+     * Ticks one full vector of rows starting at i
+     *
+     * @param bits Alive bits of the rows, lowest bit first
+     * @param changes Where to record the rows that changed, or null
+     * @return Bits of the rows that died during this tick
+     */
+    private static long tickVector(byte[] health, byte[] water, byte[] sun, int[] stage, int i, long bits,
+            long[] changes) {
+        LongVector shifts = LongVector.fromArray(LONGS, BYTE_SHIFTS, 0);
+        ByteVector living = spreadBits(bits, shifts);
+        ByteVector h0 = ByteVector.fromArray(BYTES, health, i);
+        ByteVector w0 = ByteVector.fromArray(BYTES, water, i);
+        ByteVector s0 = ByteVector.fromArray(BYTES, sun, i);
+
+        IntVector hIn = h0.reinterpretAsInts();
+        IntVector wIn = w0.reinterpretAsInts();
+        IntVector sIn = s0.reinterpretAsInts();
+        IntVector hOut = IntVector.zero(INTS);
+        IntVector wOut = IntVector.zero(INTS);
+        IntVector sOut = IntVector.zero(INTS);
+        IntVector grewOut = IntVector.zero(INTS);
+        IntVector deadOut = IntVector.zero(INTS);
+
+        for (int shift = 0; shift < 32; shift += 8) {
+            IntVector h = hIn.lanewise(VectorOperators.LSHR, shift).and(0xFF);
+            IntVector w = wIn.lanewise(VectorOperators.LSHR, shift).and(0xFF);
+            IntVector s = sIn.lanewise(VectorOperators.LSHR, shift).and(0xFF);
+
+            // Critical needs: -10 for each level below 20, dies at 0
+            h = h.sub(signBit(w.sub(20)).add(signBit(s.sub(20))).mul(10));
+            IntVector dead = signBit(h.sub(1));
+            h = h.max(0);
+
+            // Resource decay
+            w = w.sub(5).max(0);
+            s = s.sub(3).max(0);
+
+            // CAN_GROW: water > 30 && sunlight > 30 && health > 50
+            IntVector grew = signBit(w.neg().add(30).and(s.neg().add(30)).and(h.neg().add(50)));
+
+            // UPDATE_HEALTH_STATUS: x * 171 >>> 9 == x / 3, x * 205 >>> 11 == x / 10
+            IntVector boost = w.lanewise(VectorOperators.LSHR, 1)
+                    .add(s.mul(171).lanewise(VectorOperators.LSHR, 9))
+                    .mul(205).lanewise(VectorOperators.LSHR, 11);
+            h = h.add(boost).min(100);
+
+            hOut = hOut.or(h.lanewise(VectorOperators.LSHL, shift));
+            wOut = wOut.or(w.lanewise(VectorOperators.LSHL, shift));
+            sOut = sOut.or(s.lanewise(VectorOperators.LSHL, shift));
+            grewOut = grewOut.or(grew.lanewise(VectorOperators.LSHL, shift));
+            deadOut = deadOut.or(dead.lanewise(VectorOperators.LSHL, shift));
+        }
+
+        // Dead plants keep their old values
+        VectorMask<Byte> keep = living.compare(VectorOperators.NE, 0);
+        ByteVector h1 = hOut.reinterpretAsBytes();
+        ByteVector w1 = wOut.reinterpretAsBytes();
+        ByteVector s1 = sOut.reinterpretAsBytes();
+        h0.blend(h1, keep).intoArray(health, i);
+        w0.blend(w1, keep).intoArray(water, i);
+        s0.blend(s1, keep).intoArray(sun, i);
+
+        long grewBits = gatherBits(grewOut.reinterpretAsBytes().and(living), shifts);
+        long died = gatherBits(deadOut.reinterpretAsBytes().and(living), shifts);
+        if (changes != null) {
+            int w = i >>> 6;
+            int shift = i & 63;
+            PlantStore.recordChanges(changes, w,
+                    gatherBits(changedLanes(h0, h1, living), shifts) << shift,
+                    gatherBits(changedLanes(w0, w1, living), shifts) << shift,
+                    gatherBits(changedLanes(s0, s1, living), shifts) << shift,
+                    grewBits << shift, died << shift);
+        }
+        while (grewBits != 0) {
+            stage[i + Long.numberOfTrailingZeros(grewBits)]++;
+            grewBits &= grewBits - 1;
+        }
+        return died;
+    }
+
+    /**
+     * 1 in the byte lanes of living rows whose value differs, 0 elsewhere.
+     * Values are 0-100, so a nonzero difference is negative in one direction
+     */
+    private static ByteVector changedLanes(ByteVector before, ByteVector after, ByteVector living) {
+        ByteVector diff = before.lanewise(VectorOperators.XOR, after);
+        return diff.neg().lanewise(VectorOperators.LSHR, 7).and(living);
+    }
+
+    /**
+     * Turns bit n of the word into a 0/1 value in byte lane n
+     */
+    private static ByteVector spreadBits(long bits, LongVector shifts) {
+        return LongVector.broadcast(LONGS, bits)
+                .lanewise(VectorOperators.LSHR, shifts)
+                .and(0xFFL)
+                .mul(0x0101010101010101L)
+                .and(0x8040201008040201L)
+                .add(0x7F7F7F7F7F7F7F7FL)
+                .lanewise(VectorOperators.LSHR, 7)
+                .and(0x0101010101010101L)
+                .reinterpretAsBytes();
+    }
+
+    /**
+     * Inverse of spreadBits: packs 0/1 byte lanes back into a word
+     */
+    private static long gatherBits(ByteVector flags, LongVector shifts) {
+        return flags.reinterpretAsLongs()
+                .mul(0x0102040810204080L)
+                .lanewise(VectorOperators.LSHR, 56)
+                .lanewise(VectorOperators.LSHL, shifts)
+                .reduceLanes(VectorOperators.OR);
+    }
+
+    private static IntVector signBit(IntVector values) {
+        return values.lanewise(VectorOperators.LSHR, 31);
+    }
+}